@@ -8,48 +8,48 @@ import org.acme.gateway.application.dto.request.UpdateUserRequest;
 import org.acme.gateway.application.dto.response.AuthResponse;
 import org.acme.gateway.application.dto.response.UserResponse;
 import org.acme.gateway.infrastructure.client.UsersServiceClient;
-import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.acme.shared.loadbalancing.BalancedClient;
 import org.jboss.resteasy.reactive.ClientWebApplicationException;
 
 import java.util.List;
-import java.util.function.Supplier;
+import java.util.function.Function;
 
 @ApplicationScoped
 public class UsersGatewayService {
 
-    private final UsersServiceClient usersServiceClient;
+    private final BalancedClient<UsersServiceClient> usersServiceClient;
 
-    public UsersGatewayService(@RestClient UsersServiceClient usersServiceClient) {
+    public UsersGatewayService(BalancedClient<UsersServiceClient> usersServiceClient) {
         this.usersServiceClient = usersServiceClient;
     }
 
     public AuthResponse register(RegisterRequest request) {
-        return invoke(() -> usersServiceClient.register(request));
+        return invoke(client -> client.register(request));
     }
 
     public AuthResponse login(LoginRequest request) {
-        return invoke(() -> usersServiceClient.login(request));
+        return invoke(client -> client.login(request));
     }
 
     public UserResponse getCurrentUser(String authorization) {
-        return invoke(() -> usersServiceClient.getCurrentUser(authorization));
+        return invoke(client -> client.getCurrentUser(authorization));
     }
 
     public UserResponse updateCurrentUser(String authorization, UpdateUserRequest request) {
-        return invoke(() -> usersServiceClient.updateCurrentUser(authorization, request));
+        return invoke(client -> client.updateCurrentUser(authorization, request));
     }
 
     public List<UserResponse> getAllUsers(String authorization) {
-        return invoke(() -> usersServiceClient.getAllUsers(authorization));
+        return invoke(client -> client.getAllUsers(authorization));
     }
 
     public UserResponse getUserById(String authorization, Long id) {
-        return invoke(() -> usersServiceClient.getUserById(authorization, id));
+        return invoke(client -> client.getUserById(authorization, id));
     }
 
-    private <T> T invoke(Supplier<T> action) {
+    private <T> T invoke(Function<UsersServiceClient, T> action) {
         try {
-            return action.get();
+            return usersServiceClient.call(action);
         } catch (ClientWebApplicationException ex) {
             throw translate(ex);
         }
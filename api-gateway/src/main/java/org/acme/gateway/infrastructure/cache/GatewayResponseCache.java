@@ -0,0 +1,292 @@
+package org.acme.gateway.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.http.HttpMethod;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.acme.gateway.infrastructure.proxy.DownstreamResponse;
+import org.acme.gateway.infrastructure.proxy.ServiceProxy;
+import org.acme.gateway.infrastructure.proxy.StreamedResponse;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shared HTTP cache for the anonymous, read-only catalog routes.
+ * <p>
+ * Only 200 responses the downstream service allows to be shared are stored, for the {@code max-age} it
+ * announces; once stale, an entry with an ETag is revalidated with {@code If-None-Match} and a 304 simply
+ * extends its lifetime. The cache is bounded by the total size of the stored bodies.
+ * Requests carrying credentials always go to the downstream service.
+ * </p>
+ * <p>
+ * Whether a response can be stored is decided from its status and headers, before its body is read. Bodies are
+ * always relayed as they arrive; a storable one is copied on the way, and the copy is dropped as soon as it
+ * grows past {@code max-entry-size}. A declared {@code Content-Length} over that size is not copied at all.
+ * </p>
+ */
+@ApplicationScoped
+public class GatewayResponseCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+
+    // End-to-end headers worth replaying from the cache
+    private static final Set<String> STORED_HEADERS = Set.of(
+            "content-type", "content-encoding", "content-language", "etag", "last-modified", "cache-control",
+            "x-next-cursor");
+
+    private final ServiceProxy serviceProxy;
+    private final Cache<String, CachedResponse> cache;
+    private final long maxEntryBytes;
+    private final Counter hits;
+    private final Counter revalidated;
+    private final Counter misses;
+    private final Counter uncacheable;
+    private final Counter bypassed;
+
+    @Inject
+    public GatewayResponseCache(ServiceProxy serviceProxy,
+                                MeterRegistry meterRegistry,
+                                @ConfigProperty(name = "gateway.response-cache.max-size", defaultValue = "64M") MemorySize maxSize,
+                                @ConfigProperty(name = "gateway.response-cache.max-entry-size", defaultValue = "1M") MemorySize maxEntrySize,
+                                @ConfigProperty(name = "gateway.response-cache.idle-ttl", defaultValue = "30m") Duration idleTtl) {
+        this.serviceProxy = serviceProxy;
+        this.maxEntryBytes = maxEntrySize.asLongValue();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.asLongValue())
+                .weigher((String key, CachedResponse response) -> response.weight(key))
+                .expireAfterAccess(idleTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway-responses");
+        Gauge.builder("gateway.response.cache.bytes", cache,
+                        c -> c.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+                .description("Size of the bodies held by the gateway response cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.hits = requests(meterRegistry, "hit");
+        this.revalidated = requests(meterRegistry, "revalidated");
+        this.misses = requests(meterRegistry, "miss");
+        this.uncacheable = requests(meterRegistry, "uncacheable");
+        this.bypassed = requests(meterRegistry, "bypass");
+        // Share of the cacheable requests answered without transferring a body from the backend
+        Gauge.builder("gateway.response.cache.hit.ratio", this, GatewayResponseCache::hitRatio)
+                .register(meterRegistry);
+    }
+
+    public Multi<byte[]> get(String service, UriInfo uriInfo, HttpHeaders headers) {
+        String uri = uriInfo.getRequestUri().getRawPath();
+        String query = uriInfo.getRequestUri().getRawQuery();
+        if (query != null) {
+            uri = uri + "?" + query;
+        }
+        if (headers.getHeaderString(HttpHeaders.AUTHORIZATION) != null || clientForbidsCache(headers)) {
+            bypassed.increment();
+            return serviceProxy.forward(service, HttpMethod.GET, uri, headers, null);
+        }
+        return serviceProxy.relay(lookup(service, uri, headers.getHeaderString(HttpHeaders.ACCEPT),
+                headers.getHeaderString(HttpHeaders.IF_NONE_MATCH)));
+    }
+
+    Uni<StreamedResponse> lookup(String service, String uri, String accept, String ifNoneMatch) {
+        String key = service + ":" + uri;
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null && cached.isFresh()) {
+            hits.increment();
+            return Uni.createFrom().item(StreamedResponse.of(cached.toResponse(ifNoneMatch)));
+        }
+
+        Map<String, List<String>> requestHeaders = new HashMap<>();
+        if (accept != null) {
+            requestHeaders.put(HttpHeaders.ACCEPT, List.of(accept));
+        }
+        if (cached != null && cached.etag() != null) {
+            requestHeaders.put(HttpHeaders.IF_NONE_MATCH, List.of(cached.etag()));
+        }
+
+        return serviceProxy.exchange(service, HttpMethod.GET, uri, requestHeaders)
+                .map(response -> {
+                    if (cached != null && response.status() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+                        response.discard();
+                        revalidated.increment();
+                        CachedResponse refreshed = cached.revalidated(response.header(HttpHeaders.CACHE_CONTROL));
+                        cache.put(key, refreshed);
+                        return StreamedResponse.of(refreshed.toResponse(ifNoneMatch));
+                    }
+                    if (!isStorable(response)) {
+                        uncacheable.increment();
+                        cache.invalidate(key);
+                        return response;
+                    }
+                    return new StreamedResponse(response.status(), response.headers(), response.contentLength(),
+                            storeOnTheWay(key, response));
+                });
+    }
+
+    private boolean isStorable(StreamedResponse response) {
+        if (response.status() != Response.Status.OK.getStatusCode() || response.contentLength() > maxEntryBytes) {
+            return false;
+        }
+        String vary = response.header(HttpHeaders.VARY);
+        if (vary != null && !vary.trim().equalsIgnoreCase(HttpHeaders.ACCEPT_ENCODING)) {
+            return false;
+        }
+        String cacheControl = response.header(HttpHeaders.CACHE_CONTROL);
+        if (cacheControl == null && response.header(HttpHeaders.ETAG) == null) {
+            return false;
+        }
+        return !hasDirective(cacheControl, "no-store") && !hasDirective(cacheControl, "private");
+    }
+
+    // Relays the body unchanged, storing a copy once it is complete if it stayed within max-entry-size
+    private Multi<byte[]> storeOnTheWay(String key, StreamedResponse response) {
+        return Multi.createFrom().deferred(() -> {
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            AtomicBoolean tooLarge = new AtomicBoolean();
+            return response.body()
+                    .onItem().invoke(chunk -> {
+                        if (tooLarge.get()) {
+                            return;
+                        }
+                        if (copy.size() + (long) chunk.length > maxEntryBytes) {
+                            tooLarge.set(true);
+                            copy.reset();
+                            return;
+                        }
+                        copy.writeBytes(chunk);
+                    })
+                    .onCompletion().invoke(() -> {
+                        if (tooLarge.get()) {
+                            uncacheable.increment();
+                            cache.invalidate(key);
+                            return;
+                        }
+                        misses.increment();
+                        cache.put(key, store(response, copy.toByteArray()));
+                    });
+        });
+    }
+
+    private static CachedResponse store(StreamedResponse response, byte[] body) {
+        Map<String, List<String>> storedHeaders = new HashMap<>();
+        response.headers().forEach((name, values) -> {
+            if (STORED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                storedHeaders.put(name, List.copyOf(values));
+            }
+        });
+        String cacheControl = response.header(HttpHeaders.CACHE_CONTROL);
+        return new CachedResponse(storedHeaders, body, response.header(HttpHeaders.ETAG), freshUntil(cacheControl));
+    }
+
+    private static boolean clientForbidsCache(HttpHeaders headers) {
+        String cacheControl = headers.getHeaderString(HttpHeaders.CACHE_CONTROL);
+        return hasDirective(cacheControl, "no-store");
+    }
+
+    private static long freshUntil(String cacheControl) {
+        if (hasDirective(cacheControl, "no-cache")) {
+            return System.nanoTime();
+        }
+        long maxAge = directiveSeconds(cacheControl, "s-maxage");
+        if (maxAge < 0) {
+            maxAge = directiveSeconds(cacheControl, "max-age");
+        }
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(maxAge, 0));
+    }
+
+    private static boolean hasDirective(String cacheControl, String directive) {
+        return cacheControl != null && Arrays.stream(cacheControl.split(","))
+                .map(token -> token.trim().toLowerCase(Locale.ROOT))
+                .anyMatch(token -> token.equals(directive) || token.startsWith(directive + "="));
+    }
+
+    private static long directiveSeconds(String cacheControl, String directive) {
+        if (cacheControl == null) {
+            return -1;
+        }
+        for (String token : cacheControl.split(",")) {
+            String trimmed = token.trim().toLowerCase(Locale.ROOT);
+            if (trimmed.startsWith(directive + "=")) {
+                try {
+                    return Long.parseLong(trimmed.substring(directive.length() + 1).replace("\"", ""));
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private double hitRatio() {
+        double served = hits.count() + revalidated.count();
+        double total = served + misses.count();
+        return total == 0 ? 0 : served / total;
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("gateway.response.cache.requests")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record CachedResponse(Map<String, List<String>> headers, byte[] body, String etag, long freshUntil) {
+
+        boolean isFresh() {
+            return System.nanoTime() - freshUntil < 0;
+        }
+
+        CachedResponse revalidated(String cacheControl) {
+            String effective = cacheControl != null ? cacheControl : header(HttpHeaders.CACHE_CONTROL);
+            return new CachedResponse(headers, body, etag, GatewayResponseCache.freshUntil(effective));
+        }
+
+        DownstreamResponse toResponse(String ifNoneMatch) {
+            if (etag != null && ifNoneMatch != null && matches(ifNoneMatch)) {
+                Map<String, List<String>> notModifiedHeaders = new HashMap<>(headers);
+                notModifiedHeaders.keySet().removeIf(name -> name.toLowerCase(Locale.ROOT).startsWith("content-"));
+                return new DownstreamResponse(Response.Status.NOT_MODIFIED.getStatusCode(), notModifiedHeaders,
+                        new byte[0]);
+            }
+            return new DownstreamResponse(Response.Status.OK.getStatusCode(), headers, body);
+        }
+
+        int weight(String key) {
+            return (int) Math.min(Integer.MAX_VALUE, (long) body.length + key.length() + ENTRY_OVERHEAD_BYTES);
+        }
+
+        private boolean matches(String ifNoneMatch) {
+            return Arrays.stream(ifNoneMatch.split(","))
+                    .map(String::trim)
+                    .anyMatch(candidate -> candidate.equals("*") || candidate.equals(etag)
+                            || candidate.equals("W/" + etag));
+        }
+
+        private String header(String name) {
+            return headers.entrySet().stream()
+                    .filter(entry -> entry.getKey().equalsIgnoreCase(name))
+                    .map(entry -> String.join(", ", entry.getValue()))
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+}
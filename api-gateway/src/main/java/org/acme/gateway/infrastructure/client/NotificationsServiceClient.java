@@ -1,29 +1,19 @@
 package org.acme.gateway.infrastructure.client;
 
+import io.smallrye.mutiny.Multi;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
+import org.jboss.resteasy.reactive.RestStreamElementType;
 
+/**
+ * Only the SSE stream goes through this client; the other notification routes use the pass-through proxy.
+ */
 @Path("/api/notifications")
 public interface NotificationsServiceClient {
 
     @GET
-    @Produces(MediaType.APPLICATION_JSON)
-    Object getAllNotifications(@HeaderParam("Authorization") String authorization,
-                              @QueryParam("page") Integer page,
-                              @QueryParam("size") Integer size);
-
-    @GET
-    @Path("/unread")
-    @Produces(MediaType.APPLICATION_JSON)
-    Object getUnreadNotifications(@HeaderParam("Authorization") String authorization);
-
-    @GET
-    @Path("/unread/count")
-    @Produces(MediaType.APPLICATION_JSON)
-    Object getUnreadCount(@HeaderParam("Authorization") String authorization);
-
-    @PATCH
-    @Path("/{id}/read")
-    @Produces(MediaType.APPLICATION_JSON)
-    Object markAsRead(@HeaderParam("Authorization") String authorization, @PathParam("id") Long id);
+    @Path("/stream")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    Multi<Object> streamNotifications(@HeaderParam("Authorization") String authorization);
 }
@@ -2,94 +2,63 @@ package org.acme.gateway.infrastructure.client;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import org.acme.gateway.infrastructure.loadbalancing.LoadBalancers;
+import org.acme.shared.loadbalancing.BalancedClient;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.rest.client.RestClientBuilder;
-import org.eclipse.microprofile.rest.client.inject.RestClient;
 import org.jboss.logging.Logger;
 
-import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Produces REST client proxies with base URLs configured via application properties.
- * <p>
- * We rely on {@link URL} instead of {@link java.net.URI} so Docker service names with underscores remain valid.
- * </p>
+ * Produces REST client proxies for every instance listed in {@code services.<name>.url}, balanced by
+ * {@link LoadBalancers}.
  */
 @ApplicationScoped
 public class RestClientProducers {
 
     private static final Logger LOGGER = Logger.getLogger(RestClientProducers.class);
 
-    @ConfigProperty(name = "services.users.url")
-    String usersServiceUrl;
+    @Inject
+    LoadBalancers loadBalancers;
 
-    @ConfigProperty(name = "services.articles.url")
-    String articlesServiceUrl;
+    @ConfigProperty(name = "gateway.proxy.connect-timeout", defaultValue = "5s")
+    Duration connectTimeout;
 
-    @ConfigProperty(name = "services.orders.url")
-    String ordersServiceUrl;
-
-    @ConfigProperty(name = "services.notifications.url")
-    String notificationsServiceUrl;
+    @ConfigProperty(name = "gateway.proxy.read-timeout", defaultValue = "30s")
+    Duration readTimeout;
 
     @Produces
     @Singleton
-    @RestClient
-    UsersServiceClient usersServiceClient() {
-        URL baseUrl = toUrl(usersServiceUrl, "users");
-        LOGGER.infov("Configuring UsersServiceClient with base URL {0}", baseUrl);
-        return RestClientBuilder.newBuilder()
-                .baseUrl(baseUrl)
-                .build(UsersServiceClient.class);
+    BalancedClient<UsersServiceClient> usersServiceClient() {
+        return new BalancedClient<>(loadBalancers.forService("users"), this::usersServiceClient);
     }
 
     @Produces
     @Singleton
-    @RestClient
-    ArticlesServiceClient articlesServiceClient() {
-        URL baseUrl = toUrl(articlesServiceUrl, "articles");
-        LOGGER.infov("Configuring ArticlesServiceClient with base URL {0}", baseUrl);
-        return RestClientBuilder.newBuilder()
-                .baseUrl(baseUrl)
-                .build(ArticlesServiceClient.class);
+    BalancedClient<NotificationsServiceClient> notificationsServiceClient() {
+        return new BalancedClient<>(loadBalancers.forService("notifications"), this::notificationsServiceClient);
     }
 
-    @Produces
-    @Singleton
-    @RestClient
-    OrdersServiceClient ordersServiceClient() {
-        URL baseUrl = toUrl(ordersServiceUrl, "orders");
-        LOGGER.infov("Configuring OrdersServiceClient with base URL {0}", baseUrl);
+    private UsersServiceClient usersServiceClient(URL baseUrl) {
+        LOGGER.infov("Configuring UsersServiceClient with base URL {0}", baseUrl);
         return RestClientBuilder.newBuilder()
                 .baseUrl(baseUrl)
-                .build(OrdersServiceClient.class);
+                .connectTimeout(connectTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .readTimeout(readTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .build(UsersServiceClient.class);
     }
 
-    @Produces
-    @Singleton
-    @RestClient
-    NotificationsServiceClient notificationsServiceClient() {
-        URL baseUrl = toUrl(notificationsServiceUrl, "notifications");
+    private NotificationsServiceClient notificationsServiceClient(URL baseUrl) {
         LOGGER.infov("Configuring NotificationsServiceClient with base URL {0}", baseUrl);
         return RestClientBuilder.newBuilder()
                 .baseUrl(baseUrl)
+                // No read timeout: the SSE stream stays open as long as the browser listens
+                .connectTimeout(connectTimeout.toMillis(), TimeUnit.MILLISECONDS)
                 .build(NotificationsServiceClient.class);
     }
-
-    private static URL toUrl(String rawUrl, String serviceName) {
-        String candidate = rawUrl == null ? "" : rawUrl.trim();
-        if (candidate.isEmpty()) {
-            throw new IllegalArgumentException("Missing base URL for " + serviceName + " service");
-        }
-        if (!candidate.matches("^[a-zA-Z][a-zA-Z0-9+\\-.]*://.*$")) {
-            candidate = "http://" + candidate;
-        }
-        try {
-            return new URL(candidate);
-        } catch (MalformedURLException e) {
-            throw new IllegalArgumentException("Invalid base URL '" + rawUrl + "' for " + serviceName + " service", e);
-        }
-    }
 }
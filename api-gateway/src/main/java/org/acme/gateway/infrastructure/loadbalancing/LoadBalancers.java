@@ -0,0 +1,54 @@
+package org.acme.gateway.infrastructure.loadbalancing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.shared.loadbalancing.LoadBalancer;
+import org.acme.shared.loadbalancing.ServiceInstance;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds one {@link LoadBalancer} per downstream service from {@code services.<name>.url}, which accepts a
+ * comma-separated list of instances.
+ */
+@ApplicationScoped
+public class LoadBalancers {
+
+    private static final Logger LOG = Logger.getLogger(LoadBalancers.class);
+
+    private final Config config;
+    private final MeterRegistry meterRegistry;
+    private final int ejectionThreshold;
+    private final Duration ejectionDuration;
+    private final Map<String, LoadBalancer> loadBalancers = new ConcurrentHashMap<>();
+
+    @Inject
+    public LoadBalancers(Config config,
+                         MeterRegistry meterRegistry,
+                         @ConfigProperty(name = "gateway.load-balancing.ejection-threshold", defaultValue = "5") int ejectionThreshold,
+                         @ConfigProperty(name = "gateway.load-balancing.ejection-duration", defaultValue = "30s") Duration ejectionDuration) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.ejectionThreshold = ejectionThreshold;
+        this.ejectionDuration = ejectionDuration;
+    }
+
+    public LoadBalancer forService(String service) {
+        return loadBalancers.computeIfAbsent(service, this::createLoadBalancer);
+    }
+
+    private LoadBalancer createLoadBalancer(String service) {
+        String urls = config.getValue("services." + service + ".url", String.class);
+        LoadBalancer loadBalancer = LoadBalancer.of(service, urls, ejectionThreshold, ejectionDuration, meterRegistry,
+                "gateway.downstream");
+        LOG.infov("Balancing {0} service over {1}", service,
+                loadBalancer.instances().stream().map(ServiceInstance::baseUrl).toList());
+        return loadBalancer;
+    }
+}
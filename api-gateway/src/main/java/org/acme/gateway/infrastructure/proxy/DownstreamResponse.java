@@ -0,0 +1,19 @@
+package org.acme.gateway.infrastructure.proxy;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fully read downstream response, used where the gateway needs the body itself (e.g. to cache it).
+ */
+public record DownstreamResponse(int status, Map<String, List<String>> headers, byte[] body) {
+
+    public String header(String name) {
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(name) && !entry.getValue().isEmpty()) {
+                return String.join(", ", entry.getValue());
+            }
+        }
+        return null;
+    }
+}
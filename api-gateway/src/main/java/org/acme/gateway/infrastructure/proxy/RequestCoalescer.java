@@ -0,0 +1,136 @@
+package org.acme.gateway.infrastructure.proxy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Single-flight for idempotent downstream GETs: while a call is in flight, identical requests wait for its
+ * response instead of issuing their own.
+ * <p>
+ * Only the routes listed in {@code gateway.coalescing.routes} are coalesced ({@code *} matches one path
+ * segment, {@code **} any number of them). The shared call is not cancelled when the first caller goes away,
+ * since the others still wait for it.
+ * </p>
+ * <p>
+ * Only a response whose declared size is within {@code gateway.coalescing.max-body-size} is read into memory
+ * and shared. Any other response (chunked, or larger) is streamed to the caller that issued the call, and the
+ * callers waiting on it send their own request instead.
+ * </p>
+ */
+@ApplicationScoped
+public class RequestCoalescer {
+
+    private final boolean enabled;
+    private final List<Pattern> routes;
+    private final long maxBodyBytes;
+    private final Counter coalesced;
+    private final Counter notShared;
+    private final Map<String, CompletableFuture<DownstreamResponse>> inFlight = new ConcurrentHashMap<>();
+
+    @Inject
+    public RequestCoalescer(MeterRegistry meterRegistry,
+                            @ConfigProperty(name = "gateway.coalescing.enabled", defaultValue = "true") boolean enabled,
+                            @ConfigProperty(name = "gateway.coalescing.routes", defaultValue = "/api/articles/**") List<String> routes,
+                            @ConfigProperty(name = "gateway.coalescing.max-body-size", defaultValue = "256K") MemorySize maxBodySize) {
+        this.enabled = enabled;
+        this.maxBodyBytes = maxBodySize.asLongValue();
+        this.routes = routes.stream()
+                .map(String::trim)
+                .filter(route -> !route.isEmpty())
+                .map(RequestCoalescer::toPattern)
+                .toList();
+        this.coalesced = Counter.builder("gateway.coalesced.requests")
+                .description("GET requests answered by an identical call already in flight")
+                .register(meterRegistry);
+        this.notShared = Counter.builder("gateway.coalesced.not.shared")
+                .description("Coalesced calls whose response was too large or of unknown size to be shared")
+                .register(meterRegistry);
+    }
+
+    public boolean isCoalesced(String path) {
+        return enabled && routes.stream().anyMatch(route -> route.matcher(path).matches());
+    }
+
+    public Uni<StreamedResponse> execute(String key, Supplier<Uni<StreamedResponse>> call) {
+        CompletableFuture<DownstreamResponse> created = new CompletableFuture<>();
+        CompletableFuture<DownstreamResponse> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return await(existing).onItem().transformToUni(shared -> {
+                if (shared == null) {
+                    return call.get();
+                }
+                coalesced.increment();
+                return Uni.createFrom().item(StreamedResponse.of(shared));
+            });
+        }
+        CompletableFuture<StreamedResponse> own = new CompletableFuture<>();
+        call.get().subscribe().with(
+                response -> {
+                    if (!response.isBoundedBy(maxBodyBytes)) {
+                        notShared.increment();
+                        inFlight.remove(key, created);
+                        // Waiting callers send their own request
+                        created.complete(null);
+                        own.complete(response);
+                        return;
+                    }
+                    response.read().subscribe().with(
+                            buffered -> {
+                                inFlight.remove(key, created);
+                                created.complete(buffered);
+                                own.complete(StreamedResponse.of(buffered));
+                            },
+                            failure -> fail(key, created, own, failure));
+                },
+                failure -> fail(key, created, own, failure));
+        // A streamed response nobody relays would keep the downstream call open until its timeout
+        return await(own).onCancellation().invoke(() -> own.thenAccept(StreamedResponse::discard));
+    }
+
+    private void fail(String key, CompletableFuture<DownstreamResponse> created,
+                      CompletableFuture<StreamedResponse> own, Throwable failure) {
+        inFlight.remove(key, created);
+        created.completeExceptionally(failure);
+        own.completeExceptionally(failure);
+    }
+
+    // Followers must not cancel the shared future when their own request is cancelled
+    private static <T> Uni<T> await(CompletableFuture<T> shared) {
+        return Uni.createFrom().emitter(emitter -> shared.whenComplete((response, failure) -> {
+            if (failure != null) {
+                emitter.fail(failure);
+            } else {
+                emitter.complete(response);
+            }
+        }));
+    }
+
+    private static Pattern toPattern(String route) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < route.length(); i++) {
+            char c = route.charAt(i);
+            if (c == '*') {
+                boolean anyDepth = i + 1 < route.length() && route.charAt(i + 1) == '*';
+                regex.append(anyDepth ? ".*" : "[^/]*");
+                if (anyDepth) {
+                    i++;
+                }
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
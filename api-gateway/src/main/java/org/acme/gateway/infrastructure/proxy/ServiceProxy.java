@@ -0,0 +1,279 @@
+package org.acme.gateway.infrastructure.proxy;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.core.buffer.Buffer;
+import io.vertx.mutiny.core.http.HttpClient;
+import io.vertx.mutiny.core.http.HttpClientResponse;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.acme.gateway.infrastructure.loadbalancing.LoadBalancers;
+import org.acme.gateway.infrastructure.resilience.DownstreamGuards;
+import org.acme.shared.loadbalancing.LoadBalancer;
+import org.acme.shared.loadbalancing.ServiceInstance;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.reactive.RestMulti;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Non-blocking pass-through to the downstream services.
+ * <p>
+ * The downstream body is relayed chunk by chunk as it arrives, with its status and end-to-end headers, and is
+ * never parsed by the gateway; no worker thread waits on the downstream call.
+ * </p>
+ */
+@ApplicationScoped
+public class ServiceProxy {
+
+    private static final Logger LOG = Logger.getLogger(ServiceProxy.class);
+
+    // Hop-by-hop headers (RFC 9110 §7.6.1) plus the ones the HTTP client recomputes
+    private static final Set<String> NON_FORWARDED_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "te", "trailer",
+            "transfer-encoding", "upgrade", "host", "content-length");
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    DownstreamGuards downstreamGuards;
+
+    @Inject
+    RequestCoalescer requestCoalescer;
+
+    @Inject
+    LoadBalancers loadBalancers;
+
+    @ConfigProperty(name = "gateway.proxy.max-pool-size", defaultValue = "100")
+    int maxPoolSize;
+
+    @ConfigProperty(name = "gateway.proxy.connect-timeout", defaultValue = "5s")
+    Duration connectTimeout;
+
+    @ConfigProperty(name = "gateway.proxy.read-timeout", defaultValue = "30s")
+    Duration readTimeout;
+
+    private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+
+    public Multi<byte[]> forward(String service, HttpMethod method, UriInfo uriInfo, HttpHeaders headers, byte[] body) {
+        String uri = uriInfo.getRequestUri().getRawPath();
+        String query = uriInfo.getRequestUri().getRawQuery();
+        return forward(service, method, query == null ? uri : uri + "?" + query, headers, body);
+    }
+
+    public Multi<byte[]> forward(String service, HttpMethod method, String uri, HttpHeaders headers, byte[] body) {
+        if (method == HttpMethod.GET && requestCoalescer.isCoalesced(path(uri))) {
+            return relay(exchange(service, method, uri, headers.getRequestHeaders()));
+        }
+        return relay(open(service, method, uri, headers.getRequestHeaders(), body));
+    }
+
+    /**
+     * Sends a bodyless request. Identical GETs on coalesced routes share one call when its response is small
+     * enough to be held in memory; see {@link RequestCoalescer}.
+     */
+    public Uni<StreamedResponse> exchange(String service, HttpMethod method, String uri,
+                                          Map<String, List<String>> headers) {
+        if (method == HttpMethod.GET && requestCoalescer.isCoalesced(path(uri))) {
+            return requestCoalescer.execute(coalescingKey(service, uri, headers),
+                    () -> open(service, method, uri, headers, null));
+        }
+        return open(service, method, uri, headers, null);
+    }
+
+    /**
+     * Writes a response back to the caller, relaying its body as it is read.
+     */
+    public Multi<byte[]> relay(Uni<StreamedResponse> response) {
+        return RestMulti.fromUniResponse(response,
+                StreamedResponse::body,
+                StreamedResponse::headers,
+                StreamedResponse::status);
+    }
+
+    /**
+     * Hands the response over as soon as its headers arrive, while the guard permit, its timeout and the instance
+     * stay held until the last chunk of the body. A body that outlives the timeout is cut short.
+     */
+    public Uni<StreamedResponse> open(String service, HttpMethod method, String uri,
+                                      Map<String, List<String>> headers, byte[] body) {
+        RequestOptions options = requestOptions(method, uri, headers);
+        return Uni.createFrom().emitter(emitter -> {
+            AtomicReference<HttpClientResponse> received = new AtomicReference<>();
+            AtomicBoolean abandoned = new AtomicBoolean();
+            Cancellable exchange = downstreamGuards.submit(service,
+                            () -> sendToInstance(service, options, body, response -> {
+                                // Nothing is read until the caller asks for the body
+                                response.pause();
+                                received.set(response);
+                                emitter.complete(new StreamedResponse(response.statusCode(), responseHeaders(response),
+                                        contentLength(response), response.toMulti()
+                                                .map(Buffer::getBytes)
+                                                .onCancellation().invoke(() -> {
+                                                    abandoned.set(true);
+                                                    response.request().reset();
+                                                })));
+                                return response.end()
+                                        // The caller went away: the reset is not a failure of the service
+                                        .onFailure(failure -> abandoned.get()).recoverWithNull()
+                                        .replaceWith(response);
+                            }),
+                            response -> response.statusCode() >= 500)
+                    .subscribe().with(
+                            ignored -> {
+                            },
+                            failure -> {
+                                HttpClientResponse response = received.get();
+                                if (response == null) {
+                                    emitter.fail(failure instanceof WebApplicationException
+                                            ? failure
+                                            : unavailable(service, method, uri, failure));
+                                    return;
+                                }
+                                // Status and headers are already relayed, so the body can only be cut short
+                                LOG.warnf("Response body of %s %s from %s service aborted: %s", method, uri, service,
+                                        failure.getMessage());
+                                response.request().reset();
+                            });
+            emitter.onTermination(() -> {
+                if (received.get() == null) {
+                    exchange.cancel();
+                }
+            });
+        });
+    }
+
+    private RequestOptions requestOptions(HttpMethod method, String uri, Map<String, List<String>> headers) {
+        RequestOptions options = new RequestOptions()
+                .setMethod(method)
+                .setURI(uri)
+                .setIdleTimeout(readTimeout.toMillis());
+        headers.forEach((name, values) -> {
+            if (!NON_FORWARDED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                values.forEach(value -> options.addHeader(name, value));
+            }
+        });
+        return options;
+    }
+
+    /**
+     * Sends the request to the instance picked by the load balancer and reads the response with
+     * {@code onResponse}; the instance is released once that read completes.
+     */
+    private <R> Uni<R> sendToInstance(String service, RequestOptions options, byte[] body,
+                                      Function<HttpClientResponse, Uni<R>> onResponse) {
+        LoadBalancer loadBalancer = loadBalancers.forService(service);
+        ServiceInstance instance = loadBalancer.choose();
+        long start = System.nanoTime();
+        options.setHost(instance.host())
+                .setPort(instance.port())
+                .setSsl(instance.ssl());
+        AtomicInteger status = new AtomicInteger();
+        return client(service).request(options)
+                .onItem().transformToUni(request -> body == null || body.length == 0
+                        ? request.send()
+                        : request.send(Buffer.buffer(body)))
+                .onItem().transformToUni(response -> {
+                    status.set(response.statusCode());
+                    return onResponse.apply(response);
+                })
+                .onTermination().invoke((result, failure, cancelled) -> loadBalancer.release(instance, start,
+                        failure != null || cancelled || status.get() >= 500));
+    }
+
+    // Same path, query, representation and caller: the token is hashed so it is not kept as a map key
+    private static String coalescingKey(String service, String uri, Map<String, List<String>> headers) {
+        String authorization = header(headers, HttpHeaders.AUTHORIZATION);
+        String scope = authorization == null ? "anonymous" : sha256(authorization);
+        return String.join("|", service, uri, scope,
+                String.valueOf(header(headers, HttpHeaders.ACCEPT)),
+                String.valueOf(header(headers, HttpHeaders.IF_NONE_MATCH)));
+    }
+
+    static String header(Map<String, List<String>> headers, String name) {
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(name) && !entry.getValue().isEmpty()) {
+                return String.join(",", entry.getValue());
+            }
+        }
+        return null;
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String path(String uri) {
+        int query = uri.indexOf('?');
+        return query < 0 ? uri : uri.substring(0, query);
+    }
+
+    private static WebApplicationException unavailable(String service, HttpMethod method, String uri, Throwable failure) {
+        LOG.warnf("Request %s %s to %s service failed: %s", method, uri, service, failure.getMessage());
+        return new WebApplicationException("Service " + service + " unavailable", Response.Status.BAD_GATEWAY);
+    }
+
+    private static long contentLength(HttpClientResponse response) {
+        String contentLength = response.getHeader(HttpHeaders.CONTENT_LENGTH);
+        try {
+            return contentLength == null ? -1 : Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Map<String, List<String>> responseHeaders(HttpClientResponse response) {
+        Map<String, List<String>> headers = new HashMap<>();
+        for (String name : response.headers().names()) {
+            if (!NON_FORWARDED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, new ArrayList<>(response.headers().getAll(name)));
+            }
+        }
+        return headers;
+    }
+
+    private HttpClient client(String service) {
+        return clients.computeIfAbsent(service, this::createClient);
+    }
+
+    // A single pool per service: Vert.x keeps separate connections for each instance host and port
+    private HttpClient createClient(String service) {
+        HttpClientOptions options = new HttpClientOptions()
+                .setKeepAlive(true)
+                .setMaxPoolSize(maxPoolSize)
+                .setConnectTimeout((int) connectTimeout.toMillis());
+        LOG.infov("Configuring proxy for {0} service", service);
+        return vertx.createHttpClient(options);
+    }
+}
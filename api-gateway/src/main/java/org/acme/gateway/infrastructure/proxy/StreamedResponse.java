@@ -0,0 +1,53 @@
+package org.acme.gateway.infrastructure.proxy;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Downstream response whose body is relayed as it arrives.
+ * <p>
+ * The downstream call, with its guard permit, stays open until the body has been read: a caller that does not
+ * relay it must {@link #discard()} it.
+ * </p>
+ *
+ * @param contentLength declared size of the body, or {@code -1} when it is sent in chunks
+ */
+public record StreamedResponse(int status, Map<String, List<String>> headers, long contentLength,
+                               Multi<byte[]> body) {
+
+    public static StreamedResponse of(DownstreamResponse response) {
+        byte[] body = response.body();
+        return new StreamedResponse(response.status(), response.headers(), body.length,
+                body.length == 0 ? Multi.createFrom().empty() : Multi.createFrom().item(body));
+    }
+
+    public String header(String name) {
+        return ServiceProxy.header(headers, name);
+    }
+
+    /**
+     * Whether the body is declared and no larger than {@code maxBytes}, i.e. safe to hold in memory.
+     */
+    public boolean isBoundedBy(long maxBytes) {
+        return contentLength >= 0 && contentLength <= maxBytes;
+    }
+
+    /**
+     * Reads the whole body; only meant for responses {@linkplain #isBoundedBy bounded} by a known size.
+     */
+    public Uni<DownstreamResponse> read() {
+        return body.collect()
+                .in(() -> new ByteArrayOutputStream((int) Math.max(contentLength, 0)), ByteArrayOutputStream::writeBytes)
+                .map(bytes -> new DownstreamResponse(status, headers, bytes.toByteArray()));
+    }
+
+    public void discard() {
+        body.subscribe().with(chunk -> {
+        }, failure -> {
+        });
+    }
+}
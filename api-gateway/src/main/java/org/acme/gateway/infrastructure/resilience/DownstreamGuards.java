@@ -0,0 +1,169 @@
+package org.acme.gateway.infrastructure.resilience;
+
+import io.smallrye.faulttolerance.api.Guard;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.util.TypeLiteral;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.faulttolerance.exceptions.BulkheadException;
+import org.eclipse.microprofile.faulttolerance.exceptions.CircuitBreakerOpenException;
+import org.eclipse.microprofile.faulttolerance.exceptions.TimeoutException;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead, circuit breaker and timeout in front of each downstream service, built with the SmallRye Fault
+ * Tolerance programmatic API so that a slow service only exhausts its own permits.
+ * <p>
+ * Calls that cannot get a permit, or that arrive while the circuit is open, fail immediately with 503; calls
+ * exceeding the timeout, including a client read timeout, fail with 504. Client errors (4xx) do not count as
+ * failures for the breaker. The permit and the timeout last until the guarded {@link Uni} completes, so callers
+ * streaming a body must complete it at the end of the body, not at the headers.
+ * </p>
+ * <p>
+ * Settings come from {@code gateway.resilience.*} and can be overridden per service under
+ * {@code services.<name>.resilience.*}. Metrics are the {@code ft.*} ones, tagged with
+ * {@code method=downstream-<name>}.
+ * </p>
+ */
+@ApplicationScoped
+public class DownstreamGuards {
+
+    private final Config config;
+    private final Map<String, ServiceGuard> guards = new ConcurrentHashMap<>();
+
+    @Inject
+    public DownstreamGuards(Config config) {
+        this.config = config;
+    }
+
+    /**
+     * Guards a non-blocking call; {@code isFailure} tells which results (e.g. 5xx responses) trip the breaker.
+     */
+    public <T> Uni<T> submit(String service, Supplier<Uni<T>> call, Predicate<T> isFailure) {
+        ServiceGuard guard = guards.computeIfAbsent(service, this::createGuard);
+        Uni<T> guarded = guard.guard().get(
+                () -> call.get().onItem().invoke(item -> {
+                    if (isFailure.test(item)) {
+                        throw new FailedResult(item);
+                    }
+                }),
+                new TypeLiteral<>() {
+                });
+        return guarded
+                .onFailure(FailedResult.class).recoverWithItem(failure -> failedResult(failure))
+                .onFailure().transform(failure -> translate(service, guard, failure));
+    }
+
+    /**
+     * Guards a blocking call made from a worker thread.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T call(String service, Supplier<T> action) {
+        ServiceGuard guard = guards.computeIfAbsent(service, this::createGuard);
+        try {
+            return (T) guard.guard().get(action::get, Object.class);
+        } catch (RuntimeException e) {
+            throw translate(service, guard, e);
+        }
+    }
+
+    private ServiceGuard createGuard(String service) {
+        Duration openDuration = setting(service, "open-duration", Duration.class, Duration.ofSeconds(10));
+        Guard guard = Guard.create()
+                .withDescription("downstream-" + service)
+                .withThreadOffload(false)
+                .withBulkhead()
+                    .limit(setting(service, "max-concurrent", Integer.class, 64))
+                    .queueSize(setting(service, "max-queued", Integer.class, 128))
+                    .done()
+                .withCircuitBreaker()
+                    .requestVolumeThreshold(setting(service, "window-size", Integer.class, 20))
+                    .failureRatio(setting(service, "failure-ratio", Double.class, 0.5))
+                    .delay(openDuration.toMillis(), ChronoUnit.MILLIS)
+                    .when(DownstreamGuards::isFailure)
+                    .done()
+                .withTimeout()
+                    .duration(setting(service, "timeout", Duration.class, Duration.ofSeconds(10)).toMillis(),
+                            ChronoUnit.MILLIS)
+                    .done()
+                .build();
+        return new ServiceGuard(guard, Math.max(1, openDuration.toSeconds()));
+    }
+
+    private <T> T setting(String service, String name, Class<T> type, T defaultValue) {
+        return config.getOptionalValue("services." + service + ".resilience." + name, type)
+                .or(() -> config.getOptionalValue("gateway.resilience." + name, type))
+                .orElse(defaultValue);
+    }
+
+    static RuntimeException translate(String service, ServiceGuard guard, Throwable failure) {
+        if (failure instanceof CircuitBreakerOpenException) {
+            return new WebApplicationException("Service " + service + " unavailable",
+                    Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, guard.retryAfterSeconds())
+                            .build());
+        }
+        if (failure instanceof BulkheadException) {
+            return new WebApplicationException("Service " + service + " overloaded", Response.Status.SERVICE_UNAVAILABLE);
+        }
+        if (isTimeout(failure)) {
+            return new WebApplicationException("Service " + service + " timed out", Response.Status.GATEWAY_TIMEOUT);
+        }
+        return failure instanceof RuntimeException runtime ? runtime : new IllegalStateException(failure);
+    }
+
+    // Guard timeouts, and client read or idle timeouts, which reach us wrapped (e.g. in a ProcessingException)
+    static boolean isTimeout(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException
+                    || cause instanceof java.util.concurrent.TimeoutException
+                    || cause instanceof SocketTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Client errors come from a healthy service
+    static boolean isFailure(Throwable failure) {
+        if (failure instanceof FailedResult) {
+            return true;
+        }
+        if (failure instanceof WebApplicationException wae) {
+            return wae.getResponse() == null || wae.getResponse().getStatus() >= 500;
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T failedResult(Throwable failure) {
+        return (T) ((FailedResult) failure).result;
+    }
+
+    record ServiceGuard(Guard guard, long retryAfterSeconds) {
+    }
+
+    /**
+     * Carries a result that counts as a failure (a 5xx response) through the breaker; it is handed back as-is.
+     */
+    private static final class FailedResult extends RuntimeException {
+
+        private final transient Object result;
+
+        FailedResult(Object result) {
+            super(null, null, false, false);
+            this.result = result;
+        }
+    }
+}
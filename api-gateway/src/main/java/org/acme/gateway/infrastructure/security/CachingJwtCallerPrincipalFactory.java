@@ -0,0 +1,88 @@
+package org.acme.gateway.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.smallrye.jwt.auth.principal.DefaultJWTCallerPrincipalFactory;
+import io.smallrye.jwt.auth.principal.JWTAuthContextInfo;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipal;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipalFactory;
+import io.smallrye.jwt.auth.principal.ParseException;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keeps the principals of already verified bearer tokens so that a token presented again is not re-parsed
+ * and its HMAC signature not recomputed.
+ * <p>
+ * Entries are keyed by the SHA-256 of the raw token and expire with the token's {@code exp} claim (capped by
+ * {@code jwt-cache.max-ttl}). Tokens that fail verification are never cached.
+ * </p>
+ */
+@ApplicationScoped
+@Alternative
+@Priority(1)
+public class CachingJwtCallerPrincipalFactory extends JWTCallerPrincipalFactory {
+
+    private final JWTCallerPrincipalFactory delegate = new DefaultJWTCallerPrincipalFactory();
+    private final Cache<String, JWTCallerPrincipal> verifiedTokens;
+
+    @Inject
+    public CachingJwtCallerPrincipalFactory(MeterRegistry meterRegistry,
+                                            @ConfigProperty(name = "jwt-cache.max-size", defaultValue = "50000") long maxSize,
+                                            @ConfigProperty(name = "jwt-cache.max-ttl", defaultValue = "15m") Duration maxTtl) {
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((String key, JWTCallerPrincipal principal) -> timeToLive(principal, maxTtl)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verified-tokens");
+    }
+
+    @Override
+    public JWTCallerPrincipal parse(String token, JWTAuthContextInfo authContextInfo) throws ParseException {
+        String key = hash(token);
+        JWTCallerPrincipal cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !isExpired(cached)) {
+            return cached;
+        }
+        JWTCallerPrincipal principal = delegate.parse(token, authContextInfo);
+        if (!isExpired(principal)) {
+            verifiedTokens.put(key, principal);
+        }
+        return principal;
+    }
+
+    private static Duration timeToLive(JWTCallerPrincipal principal, Duration maxTtl) {
+        Duration remaining = Duration.between(Instant.now(), Instant.ofEpochSecond(principal.getExpirationTime()));
+        if (remaining.isNegative()) {
+            return Duration.ZERO;
+        }
+        return remaining.compareTo(maxTtl) < 0 ? remaining : maxTtl;
+    }
+
+    private static boolean isExpired(JWTCallerPrincipal principal) {
+        return principal.getExpirationTime() <= Instant.now().getEpochSecond();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,57 +1,96 @@
 package org.acme.gateway.presentation.rest;
 
+import io.smallrye.mutiny.Multi;
+import io.vertx.core.http.HttpMethod;
+import jakarta.annotation.security.PermitAll;
+import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.HttpHeaders;
-import jakarta.ws.rs.core.MediaType;
-import org.acme.gateway.infrastructure.client.ArticlesServiceClient;
-import org.eclipse.microprofile.rest.client.inject.RestClient;
+import jakarta.ws.rs.core.UriInfo;
+import org.acme.gateway.infrastructure.cache.GatewayResponseCache;
+import org.acme.gateway.infrastructure.proxy.ServiceProxy;
 
+/**
+ * Pass-through to the articles service: bodies, status codes and headers (X-Next-Cursor, ETag...) are relayed
+ * as-is by {@link ServiceProxy}. Anonymous catalog reads are answered from {@link GatewayResponseCache} when
+ * the articles service allows it.
+ */
 @Path("/api/articles")
-@Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
 public class ArticlesGatewayResource {
 
+    private static final String SERVICE = "articles";
+
+    @Inject
+    ServiceProxy serviceProxy;
+
     @Inject
-    @RestClient
-    ArticlesServiceClient articlesServiceClient;
+    GatewayResponseCache responseCache;
+
+    @GET
+    @PermitAll
+    public Multi<byte[]> getAllArticles(@Context UriInfo uriInfo, @Context HttpHeaders headers) {
+        return responseCache.get(SERVICE, uriInfo, headers);
+    }
+
+    @GET
+    @Path("/available")
+    @PermitAll
+    public Multi<byte[]> getAvailableArticles(@Context UriInfo uriInfo, @Context HttpHeaders headers) {
+        return responseCache.get(SERVICE, uriInfo, headers);
+    }
+
+    @GET
+    @Path("/category/{category}")
+    @PermitAll
+    public Multi<byte[]> getArticlesByCategory(@Context UriInfo uriInfo, @Context HttpHeaders headers,
+                                               @PathParam("category") String category) {
+        return responseCache.get(SERVICE, uriInfo, headers);
+    }
 
     @GET
-    public Object getAllArticles(@QueryParam("page") Integer page, @QueryParam("size") Integer size) {
-        return articlesServiceClient.getAllArticles(page, size);
+    @Path("/search")
+    @PermitAll
+    public Multi<byte[]> searchArticles(@Context UriInfo uriInfo, @Context HttpHeaders headers) {
+        return responseCache.get(SERVICE, uriInfo, headers);
     }
 
     @GET
     @Path("/{id}")
-    public Object getArticleById(@PathParam("id") Long id) {
-        return articlesServiceClient.getArticleById(id);
+    @PermitAll
+    public Multi<byte[]> getArticleById(@Context UriInfo uriInfo, @Context HttpHeaders headers,
+                                        @PathParam("id") Long id) {
+        return responseCache.get(SERVICE, uriInfo, headers);
     }
 
     @POST
-    public Object createArticle(@Context HttpHeaders headers, Object request) {
-        String authorization = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
-        return articlesServiceClient.createArticle(authorization, request);
+    @RolesAllowed("ADMIN")
+    public Multi<byte[]> createArticle(@Context UriInfo uriInfo, @Context HttpHeaders headers, byte[] body) {
+        return serviceProxy.forward(SERVICE, HttpMethod.POST, uriInfo, headers, body);
     }
 
     @PUT
     @Path("/{id}")
-    public Object updateArticle(@Context HttpHeaders headers, @PathParam("id") Long id, Object request) {
-        String authorization = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
-        return articlesServiceClient.updateArticle(authorization, id, request);
+    @RolesAllowed("ADMIN")
+    public Multi<byte[]> updateArticle(@Context UriInfo uriInfo, @Context HttpHeaders headers,
+                                       @PathParam("id") Long id, byte[] body) {
+        return serviceProxy.forward(SERVICE, HttpMethod.PUT, uriInfo, headers, body);
     }
 
     @PATCH
     @Path("/{id}/stock")
-    public Object updateStock(@Context HttpHeaders headers, @PathParam("id") Long id, Object request) {
-        String authorization = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
-        return articlesServiceClient.updateStock(authorization, id, request);
+    @RolesAllowed("ADMIN")
+    public Multi<byte[]> updateStock(@Context UriInfo uriInfo, @Context HttpHeaders headers,
+                                     @PathParam("id") Long id, byte[] body) {
+        return serviceProxy.forward(SERVICE, HttpMethod.PATCH, uriInfo, headers, body);
     }
 
     @DELETE
     @Path("/{id}")
-    public Object deleteArticle(@Context HttpHeaders headers, @PathParam("id") Long id) {
-        String authorization = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
-        return articlesServiceClient.deleteArticle(authorization, id);
+    @RolesAllowed("ADMIN")
+    public Multi<byte[]> deleteArticle(@Context UriInfo uriInfo, @Context HttpHeaders headers,
+                                       @PathParam("id") Long id) {
+        return serviceProxy.forward(SERVICE, HttpMethod.DELETE, uriInfo, headers, null);
     }
 }
@@ -1,48 +1,82 @@
 package org.acme.gateway.presentation.rest;
 
+import io.smallrye.mutiny.Multi;
+import io.vertx.core.http.HttpMethod;
+import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
 import org.acme.gateway.infrastructure.client.NotificationsServiceClient;
-import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.acme.gateway.infrastructure.proxy.ServiceProxy;
+import org.acme.shared.loadbalancing.BalancedClient;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
 
 @Path("/api/notifications")
-@Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
 public class NotificationsGatewayResource {
 
+    private static final String SERVICE = "notifications";
+
+    @Inject
+    ServiceProxy serviceProxy;
+
     @Inject
-    @RestClient
-    NotificationsServiceClient notificationsServiceClient;
+    BalancedClient<NotificationsServiceClient> notificationsServiceClient;
+
+    @ConfigProperty(name = "notifications-stream.heartbeat-interval", defaultValue = "15s")
+    Duration heartbeatInterval;
 
     @GET
-    public Object getAllNotifications(@Context HttpHeaders headers,
-                                     @QueryParam("page") Integer page,
-                                     @QueryParam("size") Integer size) {
-        String authorization = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
-        return notificationsServiceClient.getAllNotifications(authorization, page, size);
+    @RolesAllowed({"USER", "ADMIN"})
+    public Multi<byte[]> getAllNotifications(@Context UriInfo uriInfo, @Context HttpHeaders headers) {
+        return serviceProxy.forward(SERVICE, HttpMethod.GET, uriInfo, headers, null);
     }
 
     @GET
     @Path("/unread")
-    public Object getUnreadNotifications(@Context HttpHeaders headers) {
+    @RolesAllowed({"USER", "ADMIN"})
+    public Multi<byte[]> getUnreadNotifications(@Context UriInfo uriInfo, @Context HttpHeaders headers) {
+        return serviceProxy.forward(SERVICE, HttpMethod.GET, uriInfo, headers, null);
+    }
+
+    @GET
+    @Path("/stream")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RolesAllowed({"USER", "ADMIN"})
+    public Multi<OutboundSseEvent> streamNotifications(@Context HttpHeaders headers, @Context Sse sse) {
         String authorization = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
-        return notificationsServiceClient.getUnreadNotifications(authorization);
+        // The instance stays counted as in flight until the stream ends or the browser goes away
+        Multi<OutboundSseEvent> notifications = notificationsServiceClient
+                .stream(client -> client.streamNotifications(authorization))
+                .map(notification -> sse.newEventBuilder()
+                        .name("notification")
+                        .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                        .data(notification)
+                        .build());
+        // Upstream heartbeats are consumed by the client, so the gateway emits its own towards the browser
+        Multi<OutboundSseEvent> heartbeats = Multi.createFrom().ticks().every(heartbeatInterval)
+                .map(tick -> sse.newEventBuilder().comment("keep-alive").build());
+        return Multi.createBy().merging().streams(notifications, heartbeats);
     }
 
     @GET
     @Path("/unread/count")
-    public Object getUnreadCount(@Context HttpHeaders headers) {
-        String authorization = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
-        return notificationsServiceClient.getUnreadCount(authorization);
+    @RolesAllowed({"USER", "ADMIN"})
+    public Multi<byte[]> getUnreadCount(@Context UriInfo uriInfo, @Context HttpHeaders headers) {
+        return serviceProxy.forward(SERVICE, HttpMethod.GET, uriInfo, headers, null);
     }
 
     @PATCH
     @Path("/{id}/read")
-    public Object markAsRead(@Context HttpHeaders headers, @PathParam("id") Long id) {
-        String authorization = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
-        return notificationsServiceClient.markAsRead(authorization, id);
+    @RolesAllowed({"USER", "ADMIN"})
+    public Multi<byte[]> markAsRead(@Context UriInfo uriInfo, @Context HttpHeaders headers,
+                                    @PathParam("id") Long id) {
+        return serviceProxy.forward(SERVICE, HttpMethod.PATCH, uriInfo, headers, null);
     }
 }
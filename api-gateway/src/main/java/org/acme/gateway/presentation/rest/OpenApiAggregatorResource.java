@@ -74,7 +74,8 @@ public class OpenApiAggregatorResource {
     private Response fetchOpenApi(String serviceUrl, String openApiPath) {
         try {
             // Manual URL parsing to handle underscores in hostnames (Docker service names)
-            String cleanUrl = serviceUrl.trim();
+            // Every instance serves the same document: the first one listed is enough
+            String cleanUrl = serviceUrl.split(",")[0].trim();
             if (!cleanUrl.startsWith("http://") && !cleanUrl.startsWith("https://")) {
                 cleanUrl = "http://" + cleanUrl;
             }
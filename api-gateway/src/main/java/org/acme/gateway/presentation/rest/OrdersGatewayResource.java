@@ -1,52 +1,67 @@
 package org.acme.gateway.presentation.rest;
 
+import io.smallrye.mutiny.Multi;
+import io.vertx.core.http.HttpMethod;
+import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
-import org.acme.gateway.infrastructure.client.OrdersServiceClient;
+import jakarta.ws.rs.core.UriInfo;
 import org.acme.gateway.application.dto.request.OrderStatusUpdateRequest;
-import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.acme.gateway.infrastructure.proxy.ServiceProxy;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
 
 @Path("/api/orders")
-@Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
 public class OrdersGatewayResource {
 
+    private static final String SERVICE = "orders";
+
     @Inject
-    @RestClient
-    OrdersServiceClient ordersServiceClient;
+    ServiceProxy serviceProxy;
+
+    @GET
+    @RolesAllowed({"USER", "ADMIN"})
+    public Multi<byte[]> getAllOrders(@Context UriInfo uriInfo, @Context HttpHeaders headers) {
+        return serviceProxy.forward(SERVICE, HttpMethod.GET, uriInfo, headers, null);
+    }
 
     @GET
-    public Object getAllOrders(@Context HttpHeaders headers,
-                              @QueryParam("page") Integer page,
-                              @QueryParam("size") Integer size) {
-        String authorization = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
-        return ordersServiceClient.getAllOrders(authorization, page, size);
+    @Path("/export")
+    @RolesAllowed({"USER", "ADMIN"})
+    public Multi<byte[]> exportOrders(@Context UriInfo uriInfo, @Context HttpHeaders headers) {
+        return serviceProxy.forward(SERVICE, HttpMethod.GET, uriInfo, headers, null);
     }
 
     @GET
     @Path("/{id}")
-    public Object getOrderById(@Context HttpHeaders headers, @PathParam("id") Long id) {
-        String authorization = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
-        return ordersServiceClient.getOrderById(authorization, id);
+    @RolesAllowed({"USER", "ADMIN"})
+    public Multi<byte[]> getOrderById(@Context UriInfo uriInfo, @Context HttpHeaders headers,
+                                      @PathParam("id") Long id) {
+        return serviceProxy.forward(SERVICE, HttpMethod.GET, uriInfo, headers, null);
     }
 
     @POST
-    public Object createOrder(@Context HttpHeaders headers, Object request) {
-        String authorization = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
-        return ordersServiceClient.createOrder(authorization, request);
+    @RolesAllowed({"USER", "ADMIN"})
+    public Multi<byte[]> createOrder(@Context UriInfo uriInfo, @Context HttpHeaders headers, byte[] body) {
+        return serviceProxy.forward(SERVICE, HttpMethod.POST, uriInfo, headers, body);
     }
 
     @PATCH
     @Path("/{id}/status")
-    public Object updateOrderStatus(@Context HttpHeaders headers,
-                                    @PathParam("id") Long id,
-                                    @Valid OrderStatusUpdateRequest request) {
-        String authorization = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
-        String status = request.status().trim();
-        return ordersServiceClient.updateOrderStatus(authorization, id, status.toUpperCase());
+    @Consumes(MediaType.APPLICATION_JSON)
+    @RolesAllowed("ADMIN")
+    public Multi<byte[]> updateOrderStatus(@Context HttpHeaders headers,
+                                           @PathParam("id") Long id,
+                                           @Valid OrderStatusUpdateRequest request) {
+        // The orders service takes the status as a query parameter
+        String status = request.status().trim().toUpperCase(Locale.ROOT);
+        String uri = "/api/orders/" + id + "/status?status=" + URLEncoder.encode(status, StandardCharsets.UTF_8);
+        return serviceProxy.forward(SERVICE, HttpMethod.PATCH, uri, headers, null);
     }
 }
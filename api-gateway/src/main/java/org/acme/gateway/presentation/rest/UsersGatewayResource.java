@@ -1,5 +1,7 @@
 package org.acme.gateway.presentation.rest;
 
+import jakarta.annotation.security.PermitAll;
+import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
@@ -7,16 +9,17 @@ import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import org.acme.gateway.infrastructure.client.UsersServiceClient;
+import org.acme.gateway.infrastructure.resilience.DownstreamGuards;
 import org.acme.gateway.application.dto.response.AuthResponse;
 import org.acme.gateway.application.dto.request.LoginRequest;
 import org.acme.gateway.application.dto.request.RegisterRequest;
 import org.acme.gateway.application.dto.request.UpdateUserRequest;
 import org.acme.gateway.application.dto.response.UserResponse;
-import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.acme.shared.loadbalancing.BalancedClient;
 import org.jboss.resteasy.reactive.ClientWebApplicationException;
 
 import java.util.List;
-import java.util.function.Supplier;
+import java.util.function.Function;
 
 @Path("/api")
 @Produces(MediaType.APPLICATION_JSON)
@@ -24,54 +27,62 @@ import java.util.function.Supplier;
 public class UsersGatewayResource {
 
     @Inject
-    @RestClient
-    UsersServiceClient usersServiceClient;
+    BalancedClient<UsersServiceClient> usersServiceClient;
+
+    @Inject
+    DownstreamGuards downstreamGuards;
 
     // Auth endpoints
     @POST
     @Path("/auth/register")
+    @PermitAll
     public AuthResponse register(@Valid RegisterRequest request) {
-        return invoke(() -> usersServiceClient.register(request));
+        return invoke(client -> client.register(request));
     }
 
     @POST
     @Path("/auth/login")
+    @PermitAll
     public AuthResponse login(@Valid LoginRequest request) {
-        return invoke(() -> usersServiceClient.login(request));
+        return invoke(client -> client.login(request));
     }
 
     // User endpoints
     @GET
     @Path("/users/me")
+    @RolesAllowed({"USER", "ADMIN"})
     public UserResponse getCurrentUser(@Context HttpHeaders headers) {
         String authorization = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
-        return invoke(() -> usersServiceClient.getCurrentUser(authorization));
+        return invoke(client -> client.getCurrentUser(authorization));
     }
 
     @PUT
     @Path("/users/me")
+    @RolesAllowed({"USER", "ADMIN"})
     public UserResponse updateCurrentUser(@Context HttpHeaders headers, @Valid UpdateUserRequest request) {
         String authorization = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
-        return invoke(() -> usersServiceClient.updateCurrentUser(authorization, request));
+        return invoke(client -> client.updateCurrentUser(authorization, request));
     }
 
     @GET
     @Path("/users")
+    @RolesAllowed("ADMIN")
     public List<UserResponse> getAllUsers(@Context HttpHeaders headers) {
         String authorization = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
-        return invoke(() -> usersServiceClient.getAllUsers(authorization));
+        return invoke(client -> client.getAllUsers(authorization));
     }
 
     @GET
     @Path("/users/{id}")
+    @RolesAllowed("ADMIN")
     public UserResponse getUserById(@Context HttpHeaders headers, @PathParam("id") Long id) {
         String authorization = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
-        return invoke(() -> usersServiceClient.getUserById(authorization, id));
+        return invoke(client -> client.getUserById(authorization, id));
     }
 
-    private <T> T invoke(Supplier<T> action) {
+    private <T> T invoke(Function<UsersServiceClient, T> action) {
         try {
-            return action.get();
+            return downstreamGuards.call("users", () -> usersServiceClient.call(action));
         } catch (ClientWebApplicationException ex) {
             throw translate(ex);
         }
@@ -0,0 +1,156 @@
+package org.acme.gateway.infrastructure.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.http.HttpMethod;
+import jakarta.ws.rs.core.HttpHeaders;
+import org.acme.gateway.infrastructure.proxy.ServiceProxy;
+import org.acme.gateway.infrastructure.proxy.StreamedResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class GatewayResponseCacheTest {
+
+    private static final int MAX_ENTRY_BYTES = 16;
+    private static final String URI = "/api/articles/available";
+
+    private final FakeServiceProxy serviceProxy = new FakeServiceProxy();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GatewayResponseCache cache = new GatewayResponseCache(serviceProxy, meterRegistry,
+            new MemorySize(BigInteger.valueOf(1024 * 1024)), new MemorySize(BigInteger.valueOf(MAX_ENTRY_BYTES)),
+            Duration.ofMinutes(30));
+
+    @Test
+    void storesACacheableBodyWhileRelayingIt() {
+        serviceProxy.respond(ok("public, max-age=60", null, 10, "[1,2,", "3,4]"));
+
+        assertEquals("[1,2,3,4]", body(cache.lookup("articles", URI, null, null)));
+        assertEquals("[1,2,3,4]", body(cache.lookup("articles", URI, null, null)));
+
+        assertEquals(1, serviceProxy.requests.size());
+        assertEquals(1.0, count("miss"));
+        assertEquals(1.0, count("hit"));
+    }
+
+    @Test
+    void relaysAChunkedBodyLargerThanAnEntryWithoutStoringIt() {
+        serviceProxy.respond(ok("public, max-age=60", null, -1, "0123456789", "0123456789"));
+        serviceProxy.respond(ok("public, max-age=60", null, -1, "[]"));
+
+        assertEquals("01234567890123456789", body(cache.lookup("articles", URI, null, null)));
+        assertEquals("[]", body(cache.lookup("articles", URI, null, null)));
+
+        assertEquals(2, serviceProxy.requests.size());
+        assertEquals(1.0, count("uncacheable"));
+        assertEquals(1.0, count("miss"));
+    }
+
+    @Test
+    void passesThroughADeclaredBodyOverTheEntrySize() {
+        StreamedResponse large = ok("public, max-age=60", null, 20, "01234567890123456789");
+        serviceProxy.respond(large);
+
+        assertSame(large, cache.lookup("articles", URI, null, null).await().indefinitely());
+        assertEquals(1.0, count("uncacheable"));
+        assertEquals(0.0, count("miss"));
+    }
+
+    @Test
+    void doesNotCountUncacheableResponsesAsMisses() {
+        StreamedResponse personal = ok("private, max-age=60", null, 2, "{}");
+        StreamedResponse noValidator = ok(null, null, 2, "{}");
+        serviceProxy.respond(personal);
+        serviceProxy.respond(noValidator);
+
+        assertSame(personal, cache.lookup("articles", URI, null, null).await().indefinitely());
+        assertSame(noValidator, cache.lookup("articles", URI, null, null).await().indefinitely());
+
+        assertEquals(2.0, count("uncacheable"));
+        assertEquals(0.0, count("miss"));
+    }
+
+    @Test
+    void revalidatesAStaleEntryWithItsEtag() {
+        serviceProxy.respond(ok("max-age=0", "\"v1\"", 2, "[]"));
+        serviceProxy.respond(new StreamedResponse(304, Map.of(HttpHeaders.CACHE_CONTROL, List.of("max-age=60")), 0,
+                Multi.createFrom().empty()));
+
+        body(cache.lookup("articles", URI, null, null));
+        StreamedResponse revalidated = cache.lookup("articles", URI, null, null).await().indefinitely();
+
+        assertEquals(200, revalidated.status());
+        assertEquals("[]", body(Uni.createFrom().item(revalidated)));
+        assertEquals(List.of("\"v1\""), serviceProxy.requests.get(1).get(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(1.0, count("revalidated"));
+    }
+
+    @Test
+    void answersAMatchingIfNoneMatchFromTheCache() {
+        serviceProxy.respond(ok("public, max-age=60", "\"v1\"", 2, "[]"));
+        body(cache.lookup("articles", URI, null, null));
+
+        StreamedResponse notModified = cache.lookup("articles", URI, null, "\"v1\"").await().indefinitely();
+
+        assertEquals(304, notModified.status());
+        assertEquals(1, serviceProxy.requests.size());
+    }
+
+    private static StreamedResponse ok(String cacheControl, String etag, long contentLength, String... chunks) {
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put(HttpHeaders.CONTENT_TYPE, List.of("application/json"));
+        if (cacheControl != null) {
+            headers.put(HttpHeaders.CACHE_CONTROL, List.of(cacheControl));
+        }
+        if (etag != null) {
+            headers.put(HttpHeaders.ETAG, List.of(etag));
+        }
+        List<byte[]> body = new ArrayList<>();
+        for (String chunk : chunks) {
+            body.add(chunk.getBytes(StandardCharsets.UTF_8));
+        }
+        return new StreamedResponse(200, headers, contentLength, Multi.createFrom().iterable(body));
+    }
+
+    private static String body(Uni<StreamedResponse> response) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.await().indefinitely().body().subscribe().asStream().forEach(body::writeBytes);
+        return body.toString(StandardCharsets.UTF_8);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("gateway.response.cache.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private static final class FakeServiceProxy extends ServiceProxy {
+
+        private final Deque<StreamedResponse> responses = new ArrayDeque<>();
+        private final List<Map<String, List<String>>> requests = new ArrayList<>();
+
+        void respond(StreamedResponse response) {
+            responses.add(response);
+        }
+
+        @Override
+        public Uni<StreamedResponse> exchange(String service, HttpMethod method, String uri,
+                                              Map<String, List<String>> headers) {
+            requests.add(headers);
+            return Uni.createFrom().item(responses.removeFirst());
+        }
+    }
+}
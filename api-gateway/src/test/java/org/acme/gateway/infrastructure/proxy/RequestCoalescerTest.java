@@ -0,0 +1,163 @@
+package org.acme.gateway.infrastructure.proxy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestCoalescerTest {
+
+    private static final String KEY = "articles:/api/articles/available";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = coalescer(
+            List.of("/api/articles/available", "/api/articles/category/*", "/api/orders/**"));
+
+    @Test
+    void matchesOnlyTheListedRoutes() {
+        assertTrue(coalescer.isCoalesced("/api/articles/available"));
+        assertTrue(coalescer.isCoalesced("/api/articles/category/books"));
+        assertTrue(coalescer.isCoalesced("/api/orders/42/lines"));
+        assertFalse(coalescer.isCoalesced("/api/articles"));
+        assertFalse(coalescer.isCoalesced("/api/articles/category/books/new"));
+    }
+
+    @Test
+    void sharesABoundedResponseWithIdenticalCallsInFlight() {
+        CompletableFuture<StreamedResponse> downstream = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        UniAssertSubscriber<StreamedResponse> first = subscribe(coalescer.execute(KEY, () -> {
+            calls.incrementAndGet();
+            return Uni.createFrom().completionStage(downstream);
+        }));
+        UniAssertSubscriber<StreamedResponse> second = subscribe(coalescer.execute(KEY, () -> {
+            calls.incrementAndGet();
+            return Uni.createFrom().failure(new IllegalStateException("must not be called"));
+        }));
+        downstream.complete(response(5, "[1,2]"));
+
+        assertEquals("[1,2]", body(first.awaitItem().getItem()));
+        assertEquals("[1,2]", body(second.awaitItem().getItem()));
+        assertEquals(1, calls.get());
+        assertEquals(1.0, meterRegistry.get("gateway.coalesced.requests").counter().count());
+    }
+
+    @Test
+    void letsFollowersCallThemselvesWhenTheResponseIsNotBounded() {
+        CompletableFuture<StreamedResponse> downstream = new CompletableFuture<>();
+        AtomicInteger followerCalls = new AtomicInteger();
+
+        UniAssertSubscriber<StreamedResponse> leader = subscribe(
+                coalescer.execute(KEY, () -> Uni.createFrom().completionStage(downstream)));
+        UniAssertSubscriber<StreamedResponse> follower = subscribe(coalescer.execute(KEY, () -> {
+            followerCalls.incrementAndGet();
+            return Uni.createFrom().item(response(-1, "own"));
+        }));
+        downstream.complete(response(-1, "[1,", "2]"));
+
+        assertEquals("[1,2]", body(leader.awaitItem().getItem()));
+        assertEquals("own", body(follower.awaitItem().getItem()));
+        assertEquals(1, followerCalls.get());
+        assertEquals(1.0, meterRegistry.get("gateway.coalesced.not.shared").counter().count());
+    }
+
+    @Test
+    void doesNotShareAResponseLargerThanTheLimit() {
+        RequestCoalescer small = coalescer(List.of("/api/articles/available"), 4);
+        CompletableFuture<StreamedResponse> downstream = new CompletableFuture<>();
+        AtomicInteger followerCalls = new AtomicInteger();
+
+        subscribe(small.execute(KEY, () -> Uni.createFrom().completionStage(downstream)));
+        UniAssertSubscriber<StreamedResponse> follower = subscribe(small.execute(KEY, () -> {
+            followerCalls.incrementAndGet();
+            return Uni.createFrom().item(response(2, "[]"));
+        }));
+        downstream.complete(response(5, "[1,2]"));
+
+        follower.awaitItem();
+        assertEquals(1, followerCalls.get());
+    }
+
+    @Test
+    void propagatesAFailureAndForgetsTheCall() {
+        CompletableFuture<StreamedResponse> downstream = new CompletableFuture<>();
+
+        UniAssertSubscriber<StreamedResponse> first = subscribe(
+                coalescer.execute(KEY, () -> Uni.createFrom().completionStage(downstream)));
+        UniAssertSubscriber<StreamedResponse> second = subscribe(
+                coalescer.execute(KEY, () -> Uni.createFrom().item(response(2, "[]"))));
+        downstream.completeExceptionally(new IllegalStateException("down"));
+
+        first.awaitFailure().assertFailedWith(IllegalStateException.class, "down");
+        second.awaitFailure().assertFailedWith(IllegalStateException.class, "down");
+        UniAssertSubscriber<StreamedResponse> retry = subscribe(
+                coalescer.execute(KEY, () -> Uni.createFrom().item(response(2, "[]"))));
+        assertEquals("[]", body(retry.awaitItem().getItem()));
+    }
+
+    @Test
+    void keepsTheSharedCallWhenTheFirstCallerGoesAway() {
+        CompletableFuture<StreamedResponse> downstream = new CompletableFuture<>();
+
+        UniAssertSubscriber<StreamedResponse> first = subscribe(
+                coalescer.execute(KEY, () -> Uni.createFrom().completionStage(downstream)));
+        UniAssertSubscriber<StreamedResponse> second = subscribe(
+                coalescer.execute(KEY, () -> Uni.createFrom().failure(new IllegalStateException("must not be called"))));
+        first.cancel();
+        downstream.complete(response(2, "[]"));
+
+        assertEquals("[]", body(second.awaitItem().getItem()));
+    }
+
+    @Test
+    void discardsAStreamedResponseWhenItsCallerGoesAway() {
+        CompletableFuture<StreamedResponse> downstream = new CompletableFuture<>();
+        AtomicBoolean drained = new AtomicBoolean();
+
+        subscribe(coalescer.execute(KEY, () -> Uni.createFrom().completionStage(downstream))).cancel();
+        downstream.complete(new StreamedResponse(200, Map.of(), -1,
+                Multi.createFrom().<byte[]>empty().onCompletion().invoke(() -> drained.set(true))));
+
+        assertTrue(drained.get());
+    }
+
+    private RequestCoalescer coalescer(List<String> routes) {
+        return coalescer(routes, 256 * 1024);
+    }
+
+    private RequestCoalescer coalescer(List<String> routes, long maxBodyBytes) {
+        return new RequestCoalescer(meterRegistry, true, routes, new MemorySize(BigInteger.valueOf(maxBodyBytes)));
+    }
+
+    private static StreamedResponse response(long contentLength, String... chunks) {
+        return new StreamedResponse(200, Map.of("Content-Type", List.of("application/json")), contentLength,
+                Multi.createFrom().items(chunks).map(chunk -> chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String body(StreamedResponse response) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.body().subscribe().asStream().forEach(body::writeBytes);
+        return body.toString(StandardCharsets.UTF_8);
+    }
+
+    private static <T> UniAssertSubscriber<T> subscribe(Uni<T> uni) {
+        return uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+    }
+}
@@ -0,0 +1,71 @@
+package org.acme.gateway.infrastructure.resilience;
+
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.faulttolerance.exceptions.BulkheadException;
+import org.eclipse.microprofile.faulttolerance.exceptions.CircuitBreakerOpenException;
+import org.eclipse.microprofile.faulttolerance.exceptions.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DownstreamGuardsTest {
+
+    private static final DownstreamGuards.ServiceGuard GUARD = new DownstreamGuards.ServiceGuard(null, 10);
+
+    @Test
+    void guardTimeoutIsGatewayTimeout() {
+        assertEquals(504, status(DownstreamGuards.translate("articles", GUARD, new TimeoutException())));
+    }
+
+    @Test
+    void clientReadTimeoutIsGatewayTimeout() {
+        // What the REST client throws when users_service does not answer within the read timeout
+        ProcessingException readTimeout = new ProcessingException(
+                new java.util.concurrent.TimeoutException("The timeout period of 30000ms has been exceeded"));
+
+        assertEquals(504, status(DownstreamGuards.translate("users", GUARD, readTimeout)));
+    }
+
+    @Test
+    void fullBulkheadIsServiceUnavailable() {
+        assertEquals(503, status(DownstreamGuards.translate("orders", GUARD, new BulkheadException())));
+    }
+
+    @Test
+    void openCircuitIsServiceUnavailableWithRetryAfter() {
+        RuntimeException translated = DownstreamGuards.translate("orders", GUARD, new CircuitBreakerOpenException());
+
+        assertEquals(503, status(translated));
+        assertEquals("10", ((WebApplicationException) translated).getResponse()
+                .getHeaderString(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void otherFailuresAreLeftToTheCaller() {
+        WebApplicationException notFound = new WebApplicationException(Response.Status.NOT_FOUND);
+        ProcessingException refused = new ProcessingException(new ConnectException("Connection refused"));
+
+        assertSame(notFound, DownstreamGuards.translate("users", GUARD, notFound));
+        assertSame(refused, DownstreamGuards.translate("users", GUARD, refused));
+    }
+
+    @Test
+    void onlyServerSideFailuresTripTheBreaker() {
+        assertFalse(DownstreamGuards.isFailure(new WebApplicationException(Response.Status.NOT_FOUND)));
+        assertFalse(DownstreamGuards.isFailure(new WebApplicationException(Response.Status.CONFLICT)));
+        assertTrue(DownstreamGuards.isFailure(new WebApplicationException(Response.Status.BAD_GATEWAY)));
+        assertTrue(DownstreamGuards.isFailure(new ProcessingException(new ConnectException("Connection refused"))));
+    }
+
+    private static int status(RuntimeException failure) {
+        return ((WebApplicationException) failure).getResponse().getStatus();
+    }
+}
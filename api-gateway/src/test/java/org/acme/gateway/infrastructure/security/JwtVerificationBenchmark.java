@@ -0,0 +1,88 @@
+package org.acme.gateway.infrastructure.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.jwt.algorithm.SignatureAlgorithm;
+import io.smallrye.jwt.auth.principal.DefaultJWTCallerPrincipalFactory;
+import io.smallrye.jwt.auth.principal.JWTAuthContextInfo;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipal;
+import io.smallrye.jwt.auth.principal.JWTCallerPrincipalFactory;
+import io.smallrye.jwt.auth.principal.ParseException;
+import org.jose4j.jws.AlgorithmIdentifiers;
+import org.jose4j.jws.JsonWebSignature;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.keys.HmacKey;
+import org.jose4j.lang.JoseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token the gateway has already seen: full parsing and HMAC
+ * verification, as every request used to pay, against a hit in the verified-token cache.
+ * Run with {@code mvn -pl api-gateway -am -Pbenchmarks verify -Djmh.include=JwtVerification}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "super-secret-change-me-please-change-me-32-bytes-minimum-length";
+    private static final String ISSUER = "users-service";
+
+    private JWTAuthContextInfo authContextInfo;
+    private JWTCallerPrincipalFactory verifying;
+    private JWTCallerPrincipalFactory caching;
+    private String token;
+
+    @Setup
+    public void setUp() throws JoseException, ParseException {
+        SecretKeySpec key = new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        authContextInfo = new JWTAuthContextInfo(key, ISSUER);
+        authContextInfo.setSignatureAlgorithm(Set.of(SignatureAlgorithm.HS256));
+
+        JwtClaims claims = new JwtClaims();
+        claims.setIssuer(ISSUER);
+        claims.setSubject("42");
+        claims.setClaim("upn", "ada");
+        claims.setStringListClaim("groups", List.of("USER"));
+        claims.setIssuedAtToNow();
+        claims.setExpirationTimeMinutesInTheFuture(60);
+        JsonWebSignature jws = new JsonWebSignature();
+        jws.setPayload(claims.toJson());
+        jws.setAlgorithmHeaderValue(AlgorithmIdentifiers.HMAC_SHA256);
+        jws.setKey(new HmacKey(SECRET.getBytes(StandardCharsets.UTF_8)));
+        token = jws.getCompactSerialization();
+
+        verifying = new DefaultJWTCallerPrincipalFactory();
+        caching = new CachingJwtCallerPrincipalFactory(new SimpleMeterRegistry(), 1_000, Duration.ofMinutes(15));
+        // The first request pays the verification; every later one is a hit
+        caching.parse(token, authContextInfo);
+    }
+
+    @Benchmark
+    public JWTCallerPrincipal verifyEveryTime() throws ParseException {
+        return verifying.parse(token, authContextInfo);
+    }
+
+    @Benchmark
+    public JWTCallerPrincipal cachedToken() throws ParseException {
+        return caching.parse(token, authContextInfo);
+    }
+}
@@ -1,6 +1,8 @@
 package org.acme.articles.application;
 
 import org.acme.articles.application.dto.request.ArticleRequest;
+import org.acme.articles.application.dto.request.ArticleSearchRequest;
+import org.acme.articles.application.dto.response.ArticlePageResponse;
 import org.acme.articles.application.dto.response.ArticleResponse;
 
 import java.util.List;
@@ -15,11 +17,17 @@ public interface ArticleService {
 
     ArticleResponse findById(Long id);
 
+    List<ArticleResponse> findByIds(List<Long> ids);
+
+    ArticlePageResponse search(ArticleSearchRequest request);
+
     ArticleResponse create(ArticleRequest request);
 
     ArticleResponse update(Long id, ArticleRequest request);
 
     ArticleResponse updateStock(Long id, Integer newStock);
 
+    ArticleResponse configureStockStriping(Long id, int stripes);
+
     void delete(Long id);
 }
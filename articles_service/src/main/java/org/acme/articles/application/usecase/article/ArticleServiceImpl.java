@@ -8,11 +8,22 @@ import org.acme.articles.application.port.out.ArticleEventPublisher;
 import org.acme.articles.domain.model.Article;
 import org.acme.articles.domain.repository.ArticleRepository;
 import org.acme.articles.domain.service.ArticleDomainService;
+import org.acme.articles.domain.value.ArticleCursor;
+import org.acme.articles.domain.value.ArticleSearchCriteria;
+import org.acme.articles.domain.value.ArticleSort;
 import org.acme.articles.application.dto.request.ArticleRequest;
+import org.acme.articles.application.dto.request.ArticleSearchRequest;
+import org.acme.articles.application.dto.response.ArticlePageResponse;
 import org.acme.articles.application.dto.response.ArticleResponse;
 import org.jboss.logging.Logger;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @ApplicationScoped
@@ -20,6 +31,11 @@ public class ArticleServiceImpl implements ArticleService {
 
     private static final Logger LOG = Logger.getLogger(ArticleServiceImpl.class);
     private static final int LOW_STOCK_THRESHOLD = 10;
+    private static final int MAX_BATCH_IDS = 200;
+    private static final int MAX_STOCK_STRIPES = 64;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_TERM_LENGTH = 100;
 
     private final ArticleRepository articleRepository;
     private final ArticleEventPublisher articleEventPublisher;
@@ -65,6 +81,105 @@ public class ArticleServiceImpl implements ArticleService {
         return articleMapper.toResponse(article);
     }
 
+    @Override
+    public List<ArticleResponse> findByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.remove(null);
+        if (distinctIds.size() > MAX_BATCH_IDS) {
+            throw new ArticleApplicationException(
+                    "Cannot fetch more than " + MAX_BATCH_IDS + " articles at once", 400);
+        }
+        return articleRepository.findByIds(distinctIds).stream()
+                .map(articleMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public ArticlePageResponse search(ArticleSearchRequest request) {
+        int pageSize = request.getSize() == null ? DEFAULT_PAGE_SIZE : request.getSize();
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new ArticleApplicationException("Page size must be between 1 and " + MAX_PAGE_SIZE, 400);
+        }
+        if (request.getMinPrice() != null && request.getMaxPrice() != null
+                && request.getMinPrice().compareTo(request.getMaxPrice()) > 0) {
+            throw new ArticleApplicationException("minPrice must not exceed maxPrice", 400);
+        }
+        ArticleSort sort = parseSort(request.getSort());
+        ArticleSearchCriteria criteria = new ArticleSearchCriteria(
+                searchTerm(request.getQuery(), "q"),
+                searchTerm(request.getNamePrefix(), "name"),
+                searchTerm(request.getCategory(), "category"),
+                request.getMinPrice(),
+                request.getMaxPrice(),
+                request.isInStock(),
+                sort);
+
+        List<Article> articles = articleRepository.search(criteria, decodeCursor(request.getCursor(), sort), pageSize + 1);
+        String nextCursor = null;
+        if (articles.size() > pageSize) {
+            articles = articles.subList(0, pageSize);
+            nextCursor = encodeCursor(articles.get(pageSize - 1), sort);
+        }
+        List<ArticleResponse> items = articles.stream()
+                .map(articleMapper::toResponse)
+                .toList();
+        return new ArticlePageResponse(items, nextCursor);
+    }
+
+    private static String searchTerm(String value, String name) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        if (value.length() > MAX_SEARCH_TERM_LENGTH) {
+            throw new ArticleApplicationException(
+                    name + " must not exceed " + MAX_SEARCH_TERM_LENGTH + " characters", 400);
+        }
+        return value.trim();
+    }
+
+    private static ArticleSort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return ArticleSort.NAME;
+        }
+        try {
+            return ArticleSort.valueOf(sort.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ArticleApplicationException("sort must be one of name, price, newest", 400);
+        }
+    }
+
+    private static ArticleCursor decodeCursor(String cursor, ArticleSort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(":", 3);
+            if (parts.length != 3 || ArticleSort.valueOf(parts[0]) != sort) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+            return new ArticleCursor(parts[2], Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new ArticleApplicationException("Invalid cursor", 400);
+        }
+    }
+
+    private static String encodeCursor(Article article, ArticleSort sort) {
+        String key = switch (sort) {
+            case NAME -> article.getName();
+            case PRICE -> article.getPrice().toBigDecimal().toPlainString();
+            case NEWEST -> {
+                Instant createdAt = article.getCreatedAt();
+                yield String.valueOf(createdAt.getEpochSecond() * 1_000_000_000L + createdAt.getNano());
+            }
+        };
+        String raw = sort.name() + ":" + article.getId() + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
     @Transactional
     @Override
     public ArticleResponse create(ArticleRequest request) {
@@ -102,7 +217,7 @@ public class ArticleServiceImpl implements ArticleService {
     @Transactional
     @Override
     public ArticleResponse update(Long id, ArticleRequest request) {
-        Article article = articleRepository.findByIdOptional(id)
+        Article article = articleRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ArticleApplicationException("Article not found with id: " + id, 404));
 
         if (articleRepository.existsByNameAndIdNot(request.getName(), id)) {
@@ -127,6 +242,7 @@ public class ArticleServiceImpl implements ArticleService {
         }
 
         articleRepository.persist(article);
+        writeStripedStock(article);
         LOG.infof("Updated article: %s (ID: %d)", article.getName(), article.getId());
 
         articleEventPublisher.publishArticleUpdated(article.getId(), article.getName(), article.getStock());
@@ -138,7 +254,7 @@ public class ArticleServiceImpl implements ArticleService {
     @Transactional
     @Override
     public ArticleResponse updateStock(Long id, Integer newStock) {
-        Article article = articleRepository.findByIdOptional(id)
+        Article article = articleRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ArticleApplicationException("Article not found with id: " + id, 404));
 
         int previousStock = article.getStock();
@@ -149,6 +265,7 @@ public class ArticleServiceImpl implements ArticleService {
         }
 
         articleRepository.persist(article);
+        writeStripedStock(article);
         LOG.infof("Updated stock for article %s (ID: %d): %d -> %d",
                 article.getName(), article.getId(), previousStock, newStock);
 
@@ -157,6 +274,31 @@ public class ArticleServiceImpl implements ArticleService {
         return articleMapper.toResponse(article);
     }
 
+    @Transactional
+    @Override
+    public ArticleResponse configureStockStriping(Long id, int stripes) {
+        if (stripes < 0 || stripes > MAX_STOCK_STRIPES) {
+            throw new ArticleApplicationException("Stripes must be between 0 and " + MAX_STOCK_STRIPES, 400);
+        }
+        // The row lock keeps reservations from falling back to the article row while the buckets move
+        Article article = articleRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ArticleApplicationException("Article not found with id: " + id, 404));
+
+        if (article.isStockStriped()) {
+            article.unstripeStock(articleRepository.drainStockBuckets(id));
+        }
+        if (stripes > 1) {
+            int total = article.stripeStock(stripes);
+            articleRepository.persist(article);
+            articleRepository.writeStockBuckets(id, stripes, total);
+        } else {
+            articleRepository.persist(article);
+        }
+        LOG.infof("Stock of article %s (ID: %d) now uses %d buckets", article.getName(), id, Math.max(stripes, 1));
+
+        return articleMapper.toResponse(article);
+    }
+
     @Transactional
     @Override
     public void delete(Long id) {
@@ -169,6 +311,12 @@ public class ArticleServiceImpl implements ArticleService {
         articleEventPublisher.publishArticleDeleted(article.getId(), article.getName());
     }
 
+    private void writeStripedStock(Article article) {
+        if (article.isStockStriped()) {
+            articleRepository.writeStockBuckets(article.getId(), article.getStockStripes(), article.getStock());
+        }
+    }
+
     private void handleStockChange(Article article, int previousStock) {
         int newStock = article.getStock();
         if (previousStock != newStock) {
@@ -0,0 +1,15 @@
+package org.acme.articles.application;
+
+import org.acme.articles.application.dto.request.StockReservationRequest;
+import org.acme.articles.application.dto.response.StockReservationResponse;
+
+public interface StockReservationService {
+
+    StockReservationResponse reserve(StockReservationRequest request);
+
+    StockReservationResponse commit(String reservationId);
+
+    StockReservationResponse release(String reservationId);
+
+    int releaseExpired();
+}
@@ -0,0 +1,161 @@
+package org.acme.articles.application;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.acme.articles.application.dto.request.StockReservationLineRequest;
+import org.acme.articles.application.dto.request.StockReservationRequest;
+import org.acme.articles.application.dto.response.StockReservationResponse;
+import org.acme.articles.application.exception.ArticleApplicationException;
+import org.acme.articles.application.port.out.ArticleEventPublisher;
+import org.acme.articles.domain.model.Article;
+import org.acme.articles.domain.model.StockReservation;
+import org.acme.articles.domain.repository.ArticleRepository;
+import org.acme.articles.domain.repository.StockReservationRepository;
+import org.acme.articles.domain.value.StockLine;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@ApplicationScoped
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private static final Logger LOG = Logger.getLogger(StockReservationServiceImpl.class);
+    private static final int LOW_STOCK_THRESHOLD = 10;
+    private static final int MAX_RESERVATION_LINES = 200;
+    private static final int EXPIRY_BATCH_SIZE = 100;
+
+    private final ArticleRepository articleRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final ArticleEventPublisher articleEventPublisher;
+    private final Duration reservationTtl;
+
+    @Inject
+    public StockReservationServiceImpl(ArticleRepository articleRepository,
+                                       StockReservationRepository stockReservationRepository,
+                                       ArticleEventPublisher articleEventPublisher,
+                                       @ConfigProperty(name = "stock-reservation.ttl", defaultValue = "15m") Duration reservationTtl) {
+        this.articleRepository = articleRepository;
+        this.stockReservationRepository = stockReservationRepository;
+        this.articleEventPublisher = articleEventPublisher;
+        this.reservationTtl = reservationTtl;
+    }
+
+    @Transactional
+    @Override
+    public StockReservationResponse reserve(StockReservationRequest request) {
+        List<StockLine> lines = toLines(request.getLines());
+        List<Long> rejected = articleRepository.decrementStock(lines);
+        if (!rejected.isEmpty()) {
+            // Rolling back restores the lines that were already decremented in the batch
+            throw new ArticleApplicationException("Insufficient stock for articles " + rejected, 409);
+        }
+
+        StockReservation reservation = StockReservation.create(lines, Instant.now().plus(reservationTtl));
+        stockReservationRepository.persist(reservation);
+        LOG.infof("Reserved stock for %d articles (reservation %s)", lines.size(), reservation.getId());
+
+        publishStockChanges(lines, -1);
+        return toResponse(reservation);
+    }
+
+    @Transactional
+    @Override
+    public StockReservationResponse commit(String reservationId) {
+        StockReservation reservation = findForUpdate(reservationId);
+        try {
+            reservation.commit(Instant.now());
+        } catch (IllegalStateException ex) {
+            throw new ArticleApplicationException(ex.getMessage(), 409);
+        }
+        LOG.infof("Committed stock reservation %s", reservationId);
+        return toResponse(reservation);
+    }
+
+    @Transactional
+    @Override
+    public StockReservationResponse release(String reservationId) {
+        StockReservation reservation = findForUpdate(reservationId);
+        if (reservation.release()) {
+            articleRepository.incrementStock(reservation.getLines());
+            LOG.infof("Released stock reservation %s", reservationId);
+            publishStockChanges(reservation.getLines(), 1);
+        }
+        return toResponse(reservation);
+    }
+
+    @Override
+    public int releaseExpired() {
+        List<String> expired = QuarkusTransaction.requiringNew()
+                .call(() -> stockReservationRepository.findExpiredIds(Instant.now(), EXPIRY_BATCH_SIZE));
+        for (String reservationId : expired) {
+            // One short transaction per reservation keeps the article row locks brief
+            QuarkusTransaction.requiringNew().run(() -> {
+                // Re-checked under the row lock: the reservation may have been committed since it was listed
+                StockReservation reservation = findForUpdate(reservationId);
+                if (reservation.releaseIfExpired(Instant.now())) {
+                    articleRepository.incrementStock(reservation.getLines());
+                    publishStockChanges(reservation.getLines(), 1);
+                }
+            });
+        }
+        return expired.size();
+    }
+
+    private StockReservation findForUpdate(String reservationId) {
+        return stockReservationRepository.findByIdForUpdate(reservationId)
+                .orElseThrow(() -> new ArticleApplicationException("Reservation not found with id: " + reservationId, 404));
+    }
+
+    private List<StockLine> toLines(List<StockReservationLineRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new ArticleApplicationException("A reservation must contain at least one line", 400);
+        }
+        // Merged per article and sorted by id so concurrent reservations always lock rows in the same order
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (StockReservationLineRequest line : requests) {
+            quantities.merge(line.getArticleId(), line.getQuantity(), Integer::sum);
+        }
+        if (quantities.size() > MAX_RESERVATION_LINES) {
+            throw new ArticleApplicationException(
+                    "Cannot reserve more than " + MAX_RESERVATION_LINES + " articles at once", 400);
+        }
+        try {
+            return quantities.entrySet().stream()
+                    .map(entry -> StockLine.of(entry.getKey(), entry.getValue()))
+                    .toList();
+        } catch (IllegalArgumentException ex) {
+            throw new ArticleApplicationException(ex.getMessage(), 400);
+        }
+    }
+
+    private void publishStockChanges(List<StockLine> lines, int direction) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        lines.forEach(line -> quantities.put(line.getArticleId(), line.getQuantity()));
+        for (Article article : articleRepository.findByIds(quantities.keySet())) {
+            int newStock = article.getStock();
+            int previousStock = newStock - direction * quantities.get(article.getId());
+            articleEventPublisher.publishStockChanged(article.getId(), article.getName(), previousStock, newStock);
+            if (newStock <= LOW_STOCK_THRESHOLD && previousStock > LOW_STOCK_THRESHOLD) {
+                articleEventPublisher.publishStockLow(article.getId(), article.getName(), newStock);
+            }
+        }
+    }
+
+    private StockReservationResponse toResponse(StockReservation reservation) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        reservation.getLines().forEach(line -> quantities.put(line.getArticleId(), line.getQuantity()));
+        return new StockReservationResponse(
+                reservation.getId(),
+                reservation.getStatus(),
+                quantities,
+                reservation.getExpiresAt());
+    }
+}
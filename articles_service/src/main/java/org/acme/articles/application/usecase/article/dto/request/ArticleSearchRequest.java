@@ -0,0 +1,108 @@
+package org.acme.articles.application.dto.request;
+
+import jakarta.ws.rs.QueryParam;
+
+import java.math.BigDecimal;
+
+public class ArticleSearchRequest {
+
+    @QueryParam("q")
+    private String query;
+
+    @QueryParam("name")
+    private String namePrefix;
+
+    @QueryParam("category")
+    private String category;
+
+    @QueryParam("minPrice")
+    private BigDecimal minPrice;
+
+    @QueryParam("maxPrice")
+    private BigDecimal maxPrice;
+
+    @QueryParam("inStock")
+    private boolean inStock;
+
+    @QueryParam("sort")
+    private String sort;
+
+    @QueryParam("cursor")
+    private String cursor;
+
+    @QueryParam("size")
+    private Integer size;
+
+    // Getters and Setters
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public boolean isInStock() {
+        return inStock;
+    }
+
+    public void setInStock(boolean inStock) {
+        this.inStock = inStock;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+}
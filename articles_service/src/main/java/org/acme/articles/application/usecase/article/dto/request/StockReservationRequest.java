@@ -0,0 +1,22 @@
+package org.acme.articles.application.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class StockReservationRequest {
+
+    @NotEmpty(message = "A reservation must contain at least one line")
+    @Valid
+    private List<StockReservationLineRequest> lines;
+
+    // Getters and Setters
+    public List<StockReservationLineRequest> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<StockReservationLineRequest> lines) {
+        this.lines = lines;
+    }
+}
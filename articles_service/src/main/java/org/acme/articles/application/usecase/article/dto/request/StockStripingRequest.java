@@ -0,0 +1,22 @@
+package org.acme.articles.application.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class StockStripingRequest {
+
+    @NotNull(message = "Stripes is required")
+    @Min(value = 0, message = "Stripes cannot be negative")
+    @Max(value = 64, message = "Stripes must not exceed 64")
+    private Integer stripes;
+
+    // Getters and Setters
+    public Integer getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(Integer stripes) {
+        this.stripes = stripes;
+    }
+}
@@ -0,0 +1,33 @@
+package org.acme.articles.application.dto.response;
+
+import java.util.List;
+
+public class ArticlePageResponse {
+
+    private List<ArticleResponse> items;
+    private String nextCursor;
+
+    public ArticlePageResponse() {
+    }
+
+    public ArticlePageResponse(List<ArticleResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ArticleResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ArticleResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,57 @@
+package org.acme.articles.application.dto.response;
+
+import org.acme.articles.domain.model.StockReservationStatus;
+
+import java.time.Instant;
+import java.util.Map;
+
+public class StockReservationResponse {
+
+    private String id;
+    private StockReservationStatus status;
+    private Map<Long, Integer> quantities;
+    private Instant expiresAt;
+
+    public StockReservationResponse() {
+    }
+
+    public StockReservationResponse(String id, StockReservationStatus status, Map<Long, Integer> quantities, Instant expiresAt) {
+        this.id = id;
+        this.status = status;
+        this.quantities = quantities;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public StockReservationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(StockReservationStatus status) {
+        this.status = status;
+    }
+
+    public Map<Long, Integer> getQuantities() {
+        return quantities;
+    }
+
+    public void setQuantities(Map<Long, Integer> quantities) {
+        this.quantities = quantities;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -10,11 +10,13 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Formula;
 
 import java.time.Instant;
 import java.util.Objects;
@@ -26,7 +28,8 @@ import org.acme.articles.domain.value.Money;
 public class Article {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "articles_seq")
+    @SequenceGenerator(name = "articles_seq", sequenceName = "articles_seq", allocationSize = IdAllocation.SIZE)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -49,6 +52,14 @@ public class Article {
     @Column(nullable = false)
     private Integer stock;
 
+    // Number of article_stock_buckets rows when the stock is striped; null for a single-row stock
+    @Column(name = "stock_stripes")
+    private Integer stockStripes;
+
+    @Formula("(case when stock_stripes is null then 0 else "
+            + "(select coalesce(sum(b.stock), 0) from article_stock_buckets b where b.article_id = id) end)")
+    private Integer bucketStock;
+
     @Size(max = 50, message = "Category must not exceed 50 characters")
     @Column(length = 50)
     private String category;
@@ -91,7 +102,7 @@ public class Article {
         this.name = name;
         this.description = description;
         this.price = price;
-        this.stock = stock;
+        assignStock(stock);
         this.category = category;
         this.updatedAt = Instant.now();
     }
@@ -101,12 +112,53 @@ public class Article {
         if (newStock < 0) {
             throw new IllegalArgumentException("Stock cannot be negative");
         }
-        this.stock = newStock;
+        assignStock(newStock);
+        this.updatedAt = Instant.now();
+    }
+
+    private void assignStock(Integer newStock) {
+        if (isStockStriped()) {
+            // The caller rewrites the buckets; the row keeps only what reservations give back to it
+            this.stock = 0;
+            this.bucketStock = newStock;
+        } else {
+            this.stock = newStock;
+        }
+    }
+
+    /**
+     * Spreads the whole stock over {@code stripes} bucket rows.
+     *
+     * @return the quantity the caller must write into the buckets
+     */
+    public int stripeStock(int stripes) {
+        if (stripes < 2) {
+            throw new IllegalArgumentException("Striped stock needs at least 2 buckets");
+        }
+        int total = getStock();
+        this.stockStripes = stripes;
+        this.stock = 0;
+        this.bucketStock = total;
         this.updatedAt = Instant.now();
+        return total;
+    }
+
+    /**
+     * Folds the bucket rows, already deleted by the caller, back into the article row.
+     */
+    public void unstripeStock(int drainedBucketStock) {
+        this.stock = stock + drainedBucketStock;
+        this.stockStripes = null;
+        this.bucketStock = 0;
+        this.updatedAt = Instant.now();
+    }
+
+    public boolean isStockStriped() {
+        return stockStripes != null;
     }
 
     public boolean isLowStock(int threshold) {
-        return stock != null && stock <= threshold;
+        return stock != null && getStock() <= threshold;
     }
 
     public Long getId() {
@@ -142,13 +194,20 @@ public class Article {
     }
 
     public Integer getStock() {
-        return stock;
+        if (stock == null || bucketStock == null) {
+            return stock;
+        }
+        return stock + bucketStock;
     }
 
     public void setStock(Integer stock) {
         this.stock = stock;
     }
 
+    public Integer getStockStripes() {
+        return stockStripes;
+    }
+
     public String getCategory() {
         return category;
     }
@@ -0,0 +1,15 @@
+package org.acme.articles.domain.value;
+
+import java.util.Objects;
+
+/**
+ * Keyset position in a catalog search: the sort key of the last article returned (its name, price or
+ * creation instant in epoch nanos, depending on the sort) and its id as tie-breaker.
+ */
+public record ArticleCursor(String key, Long id) {
+
+    public ArticleCursor {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(id, "id");
+    }
+}
@@ -1,7 +1,11 @@
 package org.acme.articles.domain.repository;
 
 import org.acme.articles.domain.model.Article;
+import org.acme.articles.domain.value.ArticleCursor;
+import org.acme.articles.domain.value.ArticleSearchCriteria;
+import org.acme.articles.domain.value.StockLine;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,7 +23,37 @@ public interface ArticleRepository {
 
     Optional<Article> findByIdOptional(Long id);
 
+    List<Article> findByIds(Collection<Long> ids);
+
+    /**
+     * Returns at most {@code limit} articles matching the criteria, in sort order, strictly after the cursor.
+     */
+    List<Article> search(ArticleSearchCriteria criteria, ArticleCursor after, int limit);
+
+    Optional<Article> findByIdForUpdate(Long id);
+
     boolean existsByName(String name);
 
     boolean existsByNameAndIdNot(String name, Long id);
+
+    /**
+     * Decrements stock line by line with {@code stock >= quantity} guards, sent as one JDBC batch.
+     *
+     * @return the ids of the articles whose stock was insufficient (or that do not exist); empty on success
+     */
+    List<Long> decrementStock(List<StockLine> lines);
+
+    void incrementStock(List<StockLine> lines);
+
+    /**
+     * Deletes the stock buckets of a striped article.
+     *
+     * @return the stock they held
+     */
+    int drainStockBuckets(Long articleId);
+
+    /**
+     * Replaces the stock buckets of an article with {@code stripes} rows sharing {@code total} evenly.
+     */
+    void writeStockBuckets(Long articleId, int stripes, int total);
 }
@@ -0,0 +1,20 @@
+package org.acme.articles.domain.value;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Filters of a catalog search; every criterion except the sort is optional.
+ */
+public record ArticleSearchCriteria(String query,
+                                    String namePrefix,
+                                    String category,
+                                    BigDecimal minPrice,
+                                    BigDecimal maxPrice,
+                                    boolean inStockOnly,
+                                    ArticleSort sort) {
+
+    public ArticleSearchCriteria {
+        Objects.requireNonNull(sort, "sort");
+    }
+}
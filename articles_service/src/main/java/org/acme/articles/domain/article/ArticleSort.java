@@ -0,0 +1,7 @@
+package org.acme.articles.domain.value;
+
+public enum ArticleSort {
+    NAME,
+    PRICE,
+    NEWEST
+}
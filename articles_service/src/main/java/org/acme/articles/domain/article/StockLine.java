@@ -0,0 +1,41 @@
+package org.acme.articles.domain.value;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.util.Objects;
+
+@Embeddable
+public class StockLine {
+
+    @Column(name = "article_id", nullable = false)
+    private Long articleId;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    protected StockLine() {
+        // for JPA
+    }
+
+    private StockLine(Long articleId, int quantity) {
+        this.articleId = articleId;
+        this.quantity = quantity;
+    }
+
+    public static StockLine of(Long articleId, int quantity) {
+        Objects.requireNonNull(articleId, "articleId");
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Reserved quantity must be positive");
+        }
+        return new StockLine(articleId, quantity);
+    }
+
+    public Long getArticleId() {
+        return articleId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+}
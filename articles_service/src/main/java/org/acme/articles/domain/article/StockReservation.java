@@ -0,0 +1,133 @@
+package org.acme.articles.domain.model;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.acme.articles.domain.value.StockLine;
+
+@Entity
+@Table(name = "stock_reservations")
+public class StockReservation {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private StockReservationStatus status;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "stock_reservation_lines", joinColumns = @JoinColumn(name = "reservation_id"))
+    private List<StockLine> lines = new ArrayList<>();
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    public static StockReservation create(List<StockLine> lines, Instant expiresAt) {
+        Objects.requireNonNull(expiresAt, "expiresAt");
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("A reservation needs at least one line");
+        }
+        StockReservation reservation = new StockReservation();
+        reservation.id = UUID.randomUUID().toString();
+        reservation.status = StockReservationStatus.RESERVED;
+        reservation.lines = new ArrayList<>(lines);
+        reservation.expiresAt = expiresAt;
+        Instant now = Instant.now();
+        reservation.createdAt = now;
+        reservation.updatedAt = now;
+        return reservation;
+    }
+
+    /**
+     * Committing twice is a no-op so callers can safely retry a commit whose response was lost. A reservation past
+     * its expiry is refused even before the expiry job has released it, since its stock is about to be given back.
+     */
+    public void commit(Instant now) {
+        if (status == StockReservationStatus.COMMITTED) {
+            return;
+        }
+        if (status != StockReservationStatus.RESERVED) {
+            throw new IllegalStateException("Only an active reservation can be committed, current status: " + status);
+        }
+        if (isExpired(now)) {
+            throw new IllegalStateException("Reservation expired at " + expiresAt);
+        }
+        status = StockReservationStatus.COMMITTED;
+        updatedAt = Instant.now();
+    }
+
+    /**
+     * @return {@code true} when the reserved quantities must be given back to stock
+     */
+    public boolean release() {
+        if (status == StockReservationStatus.RELEASED) {
+            return false;
+        }
+        status = StockReservationStatus.RELEASED;
+        updatedAt = Instant.now();
+        return true;
+    }
+
+    /**
+     * Releases a reservation that was never committed and has expired. A committed reservation is kept even if
+     * it has since passed its expiry, since the order now owns that stock.
+     *
+     * @return {@code true} when the reserved quantities must be given back to stock
+     */
+    public boolean releaseIfExpired(Instant now) {
+        if (status != StockReservationStatus.RESERVED || !isExpired(now)) {
+            return false;
+        }
+        return release();
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt.isBefore(now);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public StockReservationStatus getStatus() {
+        return status;
+    }
+
+    public List<StockLine> getLines() {
+        return lines;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,19 @@
+package org.acme.articles.domain.repository;
+
+import org.acme.articles.domain.model.StockReservation;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockReservationRepository {
+
+    void persist(StockReservation reservation);
+
+    /**
+     * Loads the reservation with a row lock so concurrent commit/release calls serialize on it.
+     */
+    Optional<StockReservation> findByIdForUpdate(String id);
+
+    List<String> findExpiredIds(Instant now, int limit);
+}
@@ -0,0 +1,7 @@
+package org.acme.articles.domain.model;
+
+public enum StockReservationStatus {
+    RESERVED,
+    COMMITTED,
+    RELEASED
+}
@@ -0,0 +1,74 @@
+package org.acme.articles.infrastructure.cache;
+
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+import org.acme.articles.application.port.out.ArticleEventPublisher;
+import org.acme.articles.infrastructure.messaging.KafkaArticleEventPublisher;
+import org.acme.articles.infrastructure.transaction.AfterCommit;
+
+/**
+ * Every catalog write publishes an article event, so the response cache is invalidated here rather
+ * than at each call site: once right away, and once more after commit so that a read racing with the
+ * transaction cannot leave pre-commit data cached. Stock events only mark the responses stale, see
+ * {@link CatalogResponseCache#stockChanged()}.
+ */
+@ApplicationScoped
+@Alternative
+@Priority(1)
+public class CatalogInvalidatingEventPublisher implements ArticleEventPublisher {
+
+    private final KafkaArticleEventPublisher delegate;
+    private final CatalogResponseCache catalogResponseCache;
+    private final AfterCommit afterCommit;
+
+    @Inject
+    public CatalogInvalidatingEventPublisher(KafkaArticleEventPublisher delegate,
+                                             CatalogResponseCache catalogResponseCache,
+                                             AfterCommit afterCommit) {
+        this.delegate = delegate;
+        this.catalogResponseCache = catalogResponseCache;
+        this.afterCommit = afterCommit;
+    }
+
+    @Override
+    public void publishArticleCreated(Long articleId, String articleName, int stock) {
+        invalidate();
+        delegate.publishArticleCreated(articleId, articleName, stock);
+    }
+
+    @Override
+    public void publishArticleUpdated(Long articleId, String articleName, int stock) {
+        invalidate();
+        delegate.publishArticleUpdated(articleId, articleName, stock);
+    }
+
+    @Override
+    public void publishArticleDeleted(Long articleId, String articleName) {
+        invalidate();
+        delegate.publishArticleDeleted(articleId, articleName);
+    }
+
+    @Override
+    public void publishStockChanged(Long articleId, String articleName, int oldStock, int newStock) {
+        stockChanged();
+        delegate.publishStockChanged(articleId, articleName, oldStock, newStock);
+    }
+
+    @Override
+    public void publishStockLow(Long articleId, String articleName, int stock) {
+        stockChanged();
+        delegate.publishStockLow(articleId, articleName, stock);
+    }
+
+    private void invalidate() {
+        catalogResponseCache.invalidate();
+        afterCommit.run(catalogResponseCache::invalidate);
+    }
+
+    private void stockChanged() {
+        catalogResponseCache.stockChanged();
+        afterCommit.run(catalogResponseCache::stockChanged);
+    }
+}
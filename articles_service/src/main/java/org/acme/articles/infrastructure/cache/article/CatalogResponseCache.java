@@ -0,0 +1,97 @@
+package org.acme.articles.infrastructure.cache;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pre-serialized catalog responses, all dropped at once whenever an article is created, updated or deleted.
+ * <p>
+ * Each entry remembers the catalog version it was built for, so a load that raced with a write is
+ * never served once the write has bumped the version.
+ * </p>
+ * <p>
+ * Stock changes come with every reservation, so they are debounced: an entry built before a stock change is
+ * still served until it is {@code stock-staleness} old, then rebuilt. Under steady order traffic each response
+ * is rebuilt at most once per window instead of on every reservation.
+ * </p>
+ */
+@ApplicationScoped
+public class CatalogResponseCache {
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong stockVersion = new AtomicLong();
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long stockStalenessNanos;
+
+    @Inject
+    public CatalogResponseCache(@ConfigProperty(name = "catalog-cache.max-entries", defaultValue = "1000") int maxEntries,
+                                @ConfigProperty(name = "catalog-cache.stock-staleness", defaultValue = "1s") Duration stockStaleness) {
+        this.maxEntries = maxEntries;
+        this.stockStalenessNanos = stockStaleness.toNanos();
+    }
+
+    public CachedResponse get(String key, Supplier<byte[]> loader) {
+        long current = version.get();
+        long currentStock = stockVersion.get();
+        CachedResponse cached = entries.get(key);
+        if (cached != null && cached.version() == current
+                && (cached.stockVersion() == currentStock || System.nanoTime() - cached.loadedAt() < stockStalenessNanos)) {
+            return cached;
+        }
+        byte[] body = loader.get();
+        CachedResponse loaded = new CachedResponse(current, currentStock, System.nanoTime(), body, etag(body));
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+        entries.put(key, loaded);
+        return loaded;
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Marks every entry as outdated by a stock change, without dropping it before the staleness window is over.
+     */
+    public void stockChanged() {
+        stockVersion.incrementAndGet();
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return '"' + HexFormat.of().formatHex(digest, 0, 16) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record CachedResponse(long version, long stockVersion, long loadedAt, byte[] body, String etag) {
+
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
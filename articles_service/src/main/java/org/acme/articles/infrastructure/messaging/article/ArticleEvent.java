@@ -0,0 +1,22 @@
+package org.acme.articles.infrastructure.messaging;
+
+/**
+ * Wire format of {@code article.events}; consumers in orders_service and notifications_service read the same fields.
+ */
+public record ArticleEvent(String eventType,
+                           Long articleId,
+                           String articleName,
+                           Integer stock,
+                           Integer oldStock,
+                           Integer newStock,
+                           long timestamp) {
+
+    static ArticleEvent of(String eventType, Long articleId, String articleName, Integer stock) {
+        return new ArticleEvent(eventType, articleId, articleName, stock, null, null, System.currentTimeMillis());
+    }
+
+    static ArticleEvent stockChanged(Long articleId, String articleName, int oldStock, int newStock) {
+        return new ArticleEvent("STOCK_CHANGED", articleId, articleName, newStock, oldStock, newStock,
+                System.currentTimeMillis());
+    }
+}
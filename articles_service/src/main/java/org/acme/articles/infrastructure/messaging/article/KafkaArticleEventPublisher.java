@@ -4,84 +4,73 @@ import io.smallrye.reactive.messaging.kafka.api.OutgoingKafkaRecordMetadata;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.acme.articles.application.port.out.ArticleEventPublisher;
+import org.acme.shared.messaging.EventCodec;
+import org.acme.shared.messaging.EventCodecs;
 import org.eclipse.microprofile.reactive.messaging.Channel;
 import org.eclipse.microprofile.reactive.messaging.Emitter;
 import org.eclipse.microprofile.reactive.messaging.Message;
 import org.jboss.logging.Logger;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
 
 @ApplicationScoped
 public class KafkaArticleEventPublisher implements ArticleEventPublisher {
 
     private static final Logger LOG = Logger.getLogger(KafkaArticleEventPublisher.class);
 
-    @Inject
-    @Channel("article-events")
-    Emitter<String> emitter;
+    private static final String CHANNEL = "article-events";
+    private static final String SCHEMA_REF = "article-event-v1";
+
+    private final Emitter<byte[]> emitter;
+    private final EventCodec<ArticleEvent> eventCodec;
 
     @Inject
-    ObjectMapper objectMapper;
+    public KafkaArticleEventPublisher(@Channel(CHANNEL) Emitter<byte[]> emitter, EventCodecs eventCodecs) {
+        this.emitter = emitter;
+        this.eventCodec = eventCodecs.forChannel(CHANNEL, ArticleEvent.class, SCHEMA_REF);
+    }
 
     @Override
     public void publishArticleCreated(Long articleId, String articleName, int stock) {
-        sendEvent("ARTICLE_CREATED", articleId, articleName, stock, null);
+        sendEvent(ArticleEvent.of("ARTICLE_CREATED", articleId, articleName, stock));
     }
 
     @Override
     public void publishArticleUpdated(Long articleId, String articleName, int stock) {
-        sendEvent("ARTICLE_UPDATED", articleId, articleName, stock, null);
+        sendEvent(ArticleEvent.of("ARTICLE_UPDATED", articleId, articleName, stock));
     }
 
     @Override
     public void publishArticleDeleted(Long articleId, String articleName) {
-        sendEvent("ARTICLE_DELETED", articleId, articleName, null, null);
+        sendEvent(ArticleEvent.of("ARTICLE_DELETED", articleId, articleName, null));
     }
 
     @Override
     public void publishStockChanged(Long articleId, String articleName, int oldStock, int newStock) {
-        Map<String, Object> additionalData = new HashMap<>();
-        additionalData.put("oldStock", oldStock);
-        additionalData.put("newStock", newStock);
-        sendEvent("STOCK_CHANGED", articleId, articleName, newStock, additionalData);
+        sendEvent(ArticleEvent.stockChanged(articleId, articleName, oldStock, newStock));
     }
 
     @Override
     public void publishStockLow(Long articleId, String articleName, int stock) {
-        sendEvent("STOCK_LOW", articleId, articleName, stock, null);
+        sendEvent(ArticleEvent.of("STOCK_LOW", articleId, articleName, stock));
     }
 
-    private void sendEvent(String eventType, Long articleId, String articleName, 
-                          Integer stock, Map<String, Object> additionalData) {
+    private void sendEvent(ArticleEvent event) {
         try {
-            Map<String, Object> event = new HashMap<>();
-            event.put("eventType", eventType);
-            event.put("articleId", articleId);
-            event.put("articleName", articleName);
-            event.put("stock", stock);
-            event.put("timestamp", System.currentTimeMillis());
-            
-            if (additionalData != null) {
-                event.putAll(additionalData);
-            }
-
-            String payload = objectMapper.writeValueAsString(event);
-            
+            byte[] payload = eventCodec.encode(event);
+
             OutgoingKafkaRecordMetadata<String> metadata = OutgoingKafkaRecordMetadata.<String>builder()
-                    .withKey(articleId.toString())
+                    .withKey(event.articleId().toString())
+                    .withHeaders(EventCodecs.headersFor(eventCodec))
                     .build();
 
-            Message<String> message = Message.of(payload)
+            Message<byte[]> message = Message.of(payload)
                     .addMetadata(metadata);
 
             emitter.send(message);
-            
-            LOG.infof("Sent Kafka event: %s for article %d", eventType, articleId);
-        } catch (JsonProcessingException e) {
+
+            LOG.infof("Sent Kafka event: %s for article %d", event.eventType(), event.articleId());
+        } catch (IOException e) {
             LOG.errorf("Failed to serialize event: %s", e.getMessage());
         }
     }
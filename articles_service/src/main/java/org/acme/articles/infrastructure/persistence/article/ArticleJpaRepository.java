@@ -2,12 +2,35 @@ package org.acme.articles.infrastructure.persistence;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import org.acme.articles.domain.model.Article;
 import org.acme.articles.domain.repository.ArticleRepository;
+import org.acme.articles.domain.value.ArticleCursor;
+import org.acme.articles.domain.value.ArticleSearchCriteria;
+import org.acme.articles.domain.value.StockLine;
+import org.hibernate.Session;
 
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class ArticleJpaRepository implements ArticleRepository {
@@ -37,7 +60,7 @@ public class ArticleJpaRepository implements ArticleRepository {
     @Override
     public List<Article> findAvailableArticles() {
         return entityManager.createQuery(
-                        "select a from Article a where a.stock > 0",
+                        "select a from Article a where a.stock + a.bucketStock > 0",
                         Article.class)
                 .getResultList();
     }
@@ -56,6 +79,18 @@ public class ArticleJpaRepository implements ArticleRepository {
         return Optional.ofNullable(entityManager.find(Article.class, id));
     }
 
+    @Override
+    public List<Article> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery(
+                        "select a from Article a where a.id in :ids",
+                        Article.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
     @Override
     public boolean existsByName(String name) {
         Long count = entityManager.createQuery(
@@ -76,4 +111,345 @@ public class ArticleJpaRepository implements ArticleRepository {
                 .getSingleResult();
         return count > 0;
     }
+
+    @Override
+    public List<Article> search(ArticleSearchCriteria criteria, ArticleCursor after, int limit) {
+        // Native SQL so the filters hit the tsvector / trigram / keyset indexes of V6__article_search.sql
+        StringBuilder sql = new StringBuilder("select a.id from articles a where true");
+        Map<String, Object> parameters = new HashMap<>();
+        if (criteria.query() != null) {
+            sql.append(" and to_tsvector('simple', a.name || ' ' || coalesce(a.description, ''))"
+                    + " @@ plainto_tsquery('simple', :query)");
+            parameters.put("query", criteria.query());
+        }
+        if (criteria.namePrefix() != null) {
+            sql.append(" and lower(a.name) like lower(:namePrefix)");
+            parameters.put("namePrefix", escapeLike(criteria.namePrefix()) + "%");
+        }
+        if (criteria.category() != null) {
+            sql.append(" and a.category = :category");
+            parameters.put("category", criteria.category());
+        }
+        if (criteria.minPrice() != null) {
+            sql.append(" and a.price >= :minPrice");
+            parameters.put("minPrice", criteria.minPrice());
+        }
+        if (criteria.maxPrice() != null) {
+            sql.append(" and a.price <= :maxPrice");
+            parameters.put("maxPrice", criteria.maxPrice());
+        }
+        if (criteria.inStockOnly()) {
+            sql.append(" and (a.stock > 0 or exists (select 1 from article_stock_buckets b"
+                    + " where b.article_id = a.id and b.stock > 0))");
+        }
+        switch (criteria.sort()) {
+            case NAME -> {
+                if (after != null) {
+                    sql.append(" and (lower(a.name), a.id) > (lower(:afterKey), :afterId)");
+                    parameters.put("afterKey", after.key());
+                }
+                sql.append(" order by lower(a.name), a.id");
+            }
+            case PRICE -> {
+                if (after != null) {
+                    sql.append(" and (a.price, a.id) > (:afterKey, :afterId)");
+                    parameters.put("afterKey", new BigDecimal(after.key()));
+                }
+                sql.append(" order by a.price, a.id");
+            }
+            case NEWEST -> {
+                if (after != null) {
+                    sql.append(" and (a.created_at, a.id) < (:afterKey, :afterId)");
+                    parameters.put("afterKey", Instant.ofEpochSecond(0, Long.parseLong(after.key())));
+                }
+                sql.append(" order by a.created_at desc, a.id desc");
+            }
+        }
+        if (after != null) {
+            parameters.put("afterId", after.id());
+        }
+
+        Query idQuery = entityManager.createNativeQuery(sql.toString(), Long.class)
+                .setMaxResults(limit);
+        parameters.forEach(idQuery::setParameter);
+        @SuppressWarnings("unchecked")
+        List<Long> ids = idQuery.getResultList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // The entities are loaded through JPQL so the bucket stock formula still applies
+        Map<Long, Article> articles = findByIds(ids).stream()
+                .collect(Collectors.toMap(Article::getId, Function.identity()));
+        return ids.stream()
+                .map(articles::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @Override
+    public Optional<Article> findByIdForUpdate(Long id) {
+        return Optional.ofNullable(entityManager.find(Article.class, id, LockModeType.PESSIMISTIC_WRITE));
+    }
+
+    @Override
+    public List<Long> decrementStock(List<StockLine> lines) {
+        if (lines.isEmpty()) {
+            return List.of();
+        }
+        // Stock rows may be cached in the persistence context; the bulk statements bypass them
+        entityManager.flush();
+        List<StockLine> ordered = sortByArticleId(lines);
+        Timestamp now = Timestamp.from(Instant.now());
+
+        List<Long> rejected = session().doReturningWork(connection -> {
+            Map<Long, Integer> stripes = findStockStripes(connection, ordered);
+            List<Long> missed = new ArrayList<>(decrementRows(connection, withoutStripes(ordered, stripes), now));
+            for (StockLine line : ordered) {
+                Integer stripeCount = stripes.get(line.getArticleId());
+                if (stripeCount != null && !decrementBuckets(connection, line, stripeCount)) {
+                    missed.add(line.getArticleId());
+                }
+            }
+            return missed;
+        });
+        entityManager.clear();
+        return rejected;
+    }
+
+    @Override
+    public void incrementStock(List<StockLine> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        List<StockLine> ordered = sortByArticleId(lines);
+        Timestamp now = Timestamp.from(Instant.now());
+
+        session().doWork(connection -> {
+            Map<Long, Integer> stripes = findStockStripes(connection, ordered);
+            List<StockLine> rowLines = new ArrayList<>(withoutStripes(ordered, stripes));
+            for (StockLine line : ordered) {
+                Integer stripeCount = stripes.get(line.getArticleId());
+                if (stripeCount != null && !incrementBucket(connection, line, stripeCount)) {
+                    // The buckets are being rewritten; the row share still counts towards the stock
+                    rowLines.add(line);
+                }
+            }
+            incrementRows(connection, rowLines, now);
+        });
+        entityManager.clear();
+    }
+
+    @Override
+    public int drainStockBuckets(Long articleId) {
+        entityManager.flush();
+        return session().doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "delete from article_stock_buckets where article_id = ? returning stock")) {
+                statement.setLong(1, articleId);
+                int drained = 0;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        drained += resultSet.getInt(1);
+                    }
+                }
+                return drained;
+            }
+        });
+    }
+
+    @Override
+    public void writeStockBuckets(Long articleId, int stripes, int total) {
+        entityManager.flush();
+        session().doWork(connection -> {
+            try (PreparedStatement delete = connection.prepareStatement(
+                    "delete from article_stock_buckets where article_id = ?")) {
+                delete.setLong(1, articleId);
+                delete.executeUpdate();
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "insert into article_stock_buckets (article_id, bucket, stock) values (?, ?, ?)")) {
+                for (int bucket = 0; bucket < stripes; bucket++) {
+                    insert.setLong(1, articleId);
+                    insert.setInt(2, bucket);
+                    insert.setInt(3, total / stripes + (bucket < total % stripes ? 1 : 0));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        });
+    }
+
+    private Session session() {
+        return entityManager.unwrap(Session.class);
+    }
+
+    private static List<StockLine> sortByArticleId(List<StockLine> lines) {
+        // A fixed lock order keeps concurrent multi-line reservations from deadlocking
+        return lines.stream()
+                .sorted(Comparator.comparing(StockLine::getArticleId))
+                .toList();
+    }
+
+    private static List<StockLine> withoutStripes(List<StockLine> lines, Map<Long, Integer> stripes) {
+        return lines.stream()
+                .filter(line -> !stripes.containsKey(line.getArticleId()))
+                .toList();
+    }
+
+    private static Map<Long, Integer> findStockStripes(Connection connection, List<StockLine> lines) throws SQLException {
+        Long[] ids = lines.stream().map(StockLine::getArticleId).toArray(Long[]::new);
+        Map<Long, Integer> stripes = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select id, stock_stripes from articles where id = any (?) and stock_stripes is not null")) {
+            statement.setArray(1, connection.createArrayOf("bigint", ids));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    stripes.put(resultSet.getLong(1), resultSet.getInt(2));
+                }
+            }
+        }
+        return stripes;
+    }
+
+    private static List<Long> decrementRows(Connection connection, List<StockLine> lines, Timestamp now) throws SQLException {
+        if (lines.isEmpty()) {
+            return List.of();
+        }
+        // The guard lives in the statement itself: no read-modify-write window, no version check
+        try (PreparedStatement statement = connection.prepareStatement(
+                "update articles set stock = stock - ?, updated_at = ? where id = ? and stock >= ?")) {
+            for (StockLine line : lines) {
+                statement.setInt(1, line.getQuantity());
+                statement.setTimestamp(2, now);
+                statement.setLong(3, line.getArticleId());
+                statement.setInt(4, line.getQuantity());
+                statement.addBatch();
+            }
+            int[] counts = statement.executeBatch();
+            List<Long> missed = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    missed.add(lines.get(i).getArticleId());
+                }
+            }
+            return missed;
+        }
+    }
+
+    private static void incrementRows(Connection connection, List<StockLine> lines, Timestamp now) throws SQLException {
+        if (lines.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "update articles set stock = stock + ?, updated_at = ? where id = ?")) {
+            for (StockLine line : sortByArticleId(lines)) {
+                statement.setInt(1, line.getQuantity());
+                statement.setTimestamp(2, now);
+                statement.setLong(3, line.getArticleId());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static boolean decrementBuckets(Connection connection, StockLine line, int stripes) throws SQLException {
+        // Striped articles never touch the articles row (not even updated_at) on the hot path
+        int start = ThreadLocalRandom.current().nextInt(stripes);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "update article_stock_buckets set stock = stock - ? where article_id = ? and bucket = ? and stock >= ?")) {
+            for (int attempt = 0; attempt < stripes; attempt++) {
+                statement.setInt(1, line.getQuantity());
+                statement.setLong(2, line.getArticleId());
+                statement.setInt(3, (start + attempt) % stripes);
+                statement.setInt(4, line.getQuantity());
+                if (statement.executeUpdate() > 0) {
+                    return true;
+                }
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "update articles set stock = stock - ? where id = ? and stock >= ?")) {
+            statement.setInt(1, line.getQuantity());
+            statement.setLong(2, line.getArticleId());
+            statement.setInt(3, line.getQuantity());
+            if (statement.executeUpdate() > 0) {
+                return true;
+            }
+        }
+        return decrementAcrossBuckets(connection, line);
+    }
+
+    private static boolean decrementAcrossBuckets(Connection connection, StockLine line) throws SQLException {
+        // Neither a single bucket nor the row holds enough: lock the row, then the non-empty buckets in bucket
+        // order (the order configureStockStriping uses), and take the row share first, then from several buckets
+        int rowStock;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select stock from articles where id = ? for update")) {
+            statement.setLong(1, line.getArticleId());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return false;
+                }
+                rowStock = resultSet.getInt(1);
+            }
+        }
+        Map<Integer, Integer> available = new TreeMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select bucket, stock from article_stock_buckets where article_id = ? and stock > 0 order by bucket for update")) {
+            statement.setLong(1, line.getArticleId());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    available.put(resultSet.getInt(1), resultSet.getInt(2));
+                }
+            }
+        }
+        int remaining = line.getQuantity();
+        if (rowStock + available.values().stream().mapToInt(Integer::intValue).sum() < remaining) {
+            return false;
+        }
+        int fromRow = Math.min(remaining, Math.max(rowStock, 0));
+        if (fromRow > 0) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "update articles set stock = stock - ? where id = ?")) {
+                statement.setInt(1, fromRow);
+                statement.setLong(2, line.getArticleId());
+                statement.executeUpdate();
+            }
+            remaining -= fromRow;
+        }
+        if (remaining == 0) {
+            return true;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "update article_stock_buckets set stock = stock - ? where article_id = ? and bucket = ?")) {
+            for (Map.Entry<Integer, Integer> bucket : available.entrySet()) {
+                int taken = Math.min(remaining, bucket.getValue());
+                statement.setInt(1, taken);
+                statement.setLong(2, line.getArticleId());
+                statement.setInt(3, bucket.getKey());
+                statement.addBatch();
+                remaining -= taken;
+                if (remaining == 0) {
+                    break;
+                }
+            }
+            statement.executeBatch();
+        }
+        return true;
+    }
+
+    private static boolean incrementBucket(Connection connection, StockLine line, int stripes) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "update article_stock_buckets set stock = stock + ? where article_id = ? and bucket = ?")) {
+            statement.setInt(1, line.getQuantity());
+            statement.setLong(2, line.getArticleId());
+            statement.setInt(3, ThreadLocalRandom.current().nextInt(stripes));
+            return statement.executeUpdate() > 0;
+        }
+    }
 }
@@ -0,0 +1,41 @@
+package org.acme.articles.infrastructure.persistence;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.acme.articles.domain.model.StockReservation;
+import org.acme.articles.domain.model.StockReservationStatus;
+import org.acme.articles.domain.repository.StockReservationRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@ApplicationScoped
+public class StockReservationJpaRepository implements StockReservationRepository {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Override
+    public void persist(StockReservation reservation) {
+        entityManager.persist(reservation);
+    }
+
+    @Override
+    public Optional<StockReservation> findByIdForUpdate(String id) {
+        return Optional.ofNullable(entityManager.find(StockReservation.class, id, LockModeType.PESSIMISTIC_WRITE));
+    }
+
+    @Override
+    public List<String> findExpiredIds(Instant now, int limit) {
+        return entityManager.createQuery(
+                        "select r.id from StockReservation r where r.status = :status and r.expiresAt < :now order by r.expiresAt",
+                        String.class)
+                .setParameter("status", StockReservationStatus.RESERVED)
+                .setParameter("now", now)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
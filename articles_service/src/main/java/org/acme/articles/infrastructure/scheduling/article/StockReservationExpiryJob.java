@@ -0,0 +1,24 @@
+package org.acme.articles.infrastructure.scheduling;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.articles.application.StockReservationService;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+public class StockReservationExpiryJob {
+
+    private static final Logger LOG = Logger.getLogger(StockReservationExpiryJob.class);
+
+    @Inject
+    StockReservationService stockReservationService;
+
+    @Scheduled(every = "${stock-reservation.expiry-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void releaseExpired() {
+        int released = stockReservationService.releaseExpired();
+        if (released > 0) {
+            LOG.infof("Released %d expired stock reservations", released);
+        }
+    }
+}
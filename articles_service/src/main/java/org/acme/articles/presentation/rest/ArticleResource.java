@@ -1,21 +1,35 @@
 package org.acme.articles.presentation.rest;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.acme.articles.application.ArticleService;
+import org.acme.articles.application.StockReservationService;
 import org.acme.articles.application.exception.ArticleApplicationException;
 import org.acme.articles.application.dto.request.ArticleRequest;
+import org.acme.articles.application.dto.request.ArticleSearchRequest;
+import org.acme.articles.application.dto.response.ArticlePageResponse;
 import org.acme.articles.application.dto.response.ArticleResponse;
 import org.acme.articles.application.dto.request.StockUpdateRequest;
+import org.acme.articles.application.dto.request.StockStripingRequest;
+import org.acme.articles.application.dto.request.StockReservationRequest;
+import org.acme.articles.application.dto.response.StockReservationResponse;
+import org.acme.articles.infrastructure.cache.CatalogResponseCache;
+import org.acme.articles.infrastructure.cache.CatalogResponseCache.CachedResponse;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.function.Supplier;
 
@@ -25,15 +39,33 @@ import java.util.function.Supplier;
 @Tag(name = "Articles", description = "Article management endpoints")
 public class ArticleResource {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Inject
     ArticleService articleService;
 
+    @Inject
+    StockReservationService stockReservationService;
+
+    @Inject
+    CatalogResponseCache catalogResponseCache;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "catalog-cache.max-age", defaultValue = "0s")
+    Duration catalogMaxAge;
+
+    @ConfigProperty(name = "catalog-cache.shared-max-age", defaultValue = "5s")
+    Duration catalogSharedMaxAge;
+
     @GET
     @PermitAll
     @Operation(summary = "Get all articles", description = "Returns a list of all articles")
     @APIResponse(responseCode = "200", description = "List of articles")
-    public List<ArticleResponse> getAllArticles() {
-        return execute(articleService::findAll);
+    @APIResponse(responseCode = "304", description = "Catalog unchanged since the given ETag")
+    public Response getAllArticles(@HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        return cachedCatalog("all", ifNoneMatch, articleService::findAll);
     }
 
     @GET
@@ -41,8 +73,9 @@ public class ArticleResource {
     @PermitAll
     @Operation(summary = "Get available articles", description = "Returns articles with stock > 0")
     @APIResponse(responseCode = "200", description = "List of available articles")
-    public List<ArticleResponse> getAvailableArticles() {
-        return execute(articleService::findAvailable);
+    @APIResponse(responseCode = "304", description = "Catalog unchanged since the given ETag")
+    public Response getAvailableArticles(@HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        return cachedCatalog("available", ifNoneMatch, articleService::findAvailable);
     }
 
     @GET
@@ -50,8 +83,37 @@ public class ArticleResource {
     @PermitAll
     @Operation(summary = "Get articles by category", description = "Returns articles filtered by category")
     @APIResponse(responseCode = "200", description = "List of articles in category")
-    public List<ArticleResponse> getArticlesByCategory(@PathParam("category") String category) {
-        return execute(() -> articleService.findByCategory(category));
+    @APIResponse(responseCode = "304", description = "Catalog unchanged since the given ETag")
+    public Response getArticlesByCategory(@PathParam("category") String category,
+                                          @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        return cachedCatalog("category:" + category, ifNoneMatch, () -> articleService.findByCategory(category));
+    }
+
+    @GET
+    @Path("/search")
+    @PermitAll
+    @Operation(summary = "Search articles", description = "Returns a page of articles matching the filters: full-text query (q), "
+            + "name prefix (name), category, price range and inStock, sorted by name, price or newest. "
+            + "The cursor of the next page is returned in the X-Next-Cursor header")
+    @APIResponse(responseCode = "200", description = "Page of matching articles")
+    @APIResponse(responseCode = "400", description = "Invalid filter, sort, cursor or page size")
+    public Response searchArticles(@BeanParam ArticleSearchRequest request) {
+        ArticlePageResponse page = execute(() -> articleService.search(request));
+        Response.ResponseBuilder response = Response.ok(page.getItems());
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.build();
+    }
+
+    @GET
+    @Path("/batch")
+    @PermitAll
+    @Operation(summary = "Get articles by IDs", description = "Returns the articles matching the given IDs in a single lookup; unknown IDs are skipped")
+    @APIResponse(responseCode = "200", description = "List of articles found")
+    @APIResponse(responseCode = "400", description = "Too many IDs requested")
+    public List<ArticleResponse> getArticlesByIds(@QueryParam("ids") List<Long> ids) {
+        return execute(() -> articleService.findByIds(ids));
     }
 
     @GET
@@ -101,6 +163,19 @@ public class ArticleResource {
         return execute(() -> articleService.updateStock(id, request.getStock()));
     }
 
+    @PUT
+    @Path("/{id}/stock/stripes")
+    @RolesAllowed("ADMIN")
+    @Operation(summary = "Configure stock striping", description = "Splits the stock of a hot article across several bucket rows; 0 or 1 folds it back into a single row (ADMIN only)")
+    @APIResponse(responseCode = "200", description = "Stock striping updated")
+    @APIResponse(responseCode = "400", description = "Invalid number of stripes")
+    @APIResponse(responseCode = "401", description = "Unauthorized")
+    @APIResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    @APIResponse(responseCode = "404", description = "Article not found")
+    public ArticleResponse configureStockStriping(@PathParam("id") Long id, @Valid StockStripingRequest request) {
+        return execute(() -> articleService.configureStockStriping(id, request.getStripes()));
+    }
+
     @DELETE
     @Path("/{id}")
     @RolesAllowed("ADMIN")
@@ -117,6 +192,72 @@ public class ArticleResource {
         return Response.noContent().build();
     }
 
+    @POST
+    @Path("/stock/reservations")
+    @RolesAllowed("SERVICE")
+    @Operation(summary = "Reserve stock", description = "Atomically decrements the stock of every line, or none of them")
+    @APIResponse(responseCode = "201", description = "Stock reserved")
+    @APIResponse(responseCode = "400", description = "Invalid reservation lines")
+    @APIResponse(responseCode = "401", description = "Unauthorized")
+    @APIResponse(responseCode = "403", description = "Forbidden - Service role required")
+    @APIResponse(responseCode = "409", description = "Insufficient stock for at least one article")
+    public Response reserveStock(@Valid StockReservationRequest request) {
+        StockReservationResponse response = execute(() -> stockReservationService.reserve(request));
+        return Response.status(Response.Status.CREATED).entity(response).build();
+    }
+
+    @POST
+    @Path("/stock/reservations/{reservationId}/commit")
+    @RolesAllowed("SERVICE")
+    @Operation(summary = "Commit stock reservation", description = "Makes a reservation permanent so it no longer expires; committing twice is a no-op")
+    @APIResponse(responseCode = "200", description = "Reservation committed")
+    @APIResponse(responseCode = "403", description = "Forbidden - Service role required")
+    @APIResponse(responseCode = "404", description = "Reservation not found")
+    @APIResponse(responseCode = "409", description = "Reservation already released")
+    public StockReservationResponse commitReservation(@PathParam("reservationId") String reservationId) {
+        return execute(() -> stockReservationService.commit(reservationId));
+    }
+
+    @POST
+    @Path("/stock/reservations/{reservationId}/release")
+    @RolesAllowed("SERVICE")
+    @Operation(summary = "Release stock reservation", description = "Returns the reserved quantities to stock; releasing twice is a no-op")
+    @APIResponse(responseCode = "200", description = "Reservation released")
+    @APIResponse(responseCode = "403", description = "Forbidden - Service role required")
+    @APIResponse(responseCode = "404", description = "Reservation not found")
+    public StockReservationResponse releaseReservation(@PathParam("reservationId") String reservationId) {
+        return execute(() -> stockReservationService.release(reservationId));
+    }
+
+    private Response cachedCatalog(String key, String ifNoneMatch, Supplier<List<ArticleResponse>> loader) {
+        CachedResponse cached = catalogResponseCache.get(key, () -> serialize(execute(loader)));
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setMaxAge((int) catalogMaxAge.toSeconds());
+        // Lets the gateway answer anonymous catalog reads itself for a few seconds; clients still revalidate
+        if (!catalogSharedMaxAge.isZero()) {
+            cacheControl.setSMaxAge((int) catalogSharedMaxAge.toSeconds());
+        }
+        cacheControl.setMustRevalidate(true);
+        if (cached.matches(ifNoneMatch)) {
+            return Response.status(Response.Status.NOT_MODIFIED)
+                    .header(HttpHeaders.ETAG, cached.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return Response.ok(cached.body(), MediaType.APPLICATION_JSON_TYPE)
+                .header(HttpHeaders.ETAG, cached.etag())
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    private byte[] serialize(List<ArticleResponse> articles) {
+        try {
+            return objectMapper.writeValueAsBytes(articles);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize catalog", e);
+        }
+    }
+
     private <T> T execute(Supplier<T> action) {
         try {
             return action.get();
@@ -0,0 +1,11 @@
+-- Schéma initial, identique à celui généré par Hibernate (idempotent pour les bases existantes)
+create table if not exists articles (
+    id          bigint generated by default as identity primary key,
+    name        varchar(100)                not null,
+    description varchar(500),
+    price       numeric(10, 2)              not null,
+    stock       integer                     not null,
+    category    varchar(50),
+    created_at  timestamp(6) with time zone not null,
+    updated_at  timestamp(6) with time zone
+);
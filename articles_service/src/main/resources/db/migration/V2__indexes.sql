@@ -0,0 +1,5 @@
+-- existsByName / existsByNameAndIdNot comparent lower(name)
+create index if not exists idx_articles_lower_name on articles (lower(name));
+
+-- findByCategory
+create index if not exists idx_articles_category on articles (category);
@@ -0,0 +1,6 @@
+-- Identifiants générés par séquence (optimiseur pooled-lo, incrément = IdAllocation.SIZE, via le placeholder id_allocation_size)
+-- pour que Hibernate puisse regrouper les insertions en batch JDBC.
+-- La colonne IDENTITY existante reste en place : Hibernate fournit désormais l'id.
+create sequence if not exists articles_seq start with 1 increment by ${id_allocation_size};
+
+select setval('articles_seq', (select coalesce(max(id), 0) from articles) + ${id_allocation_size});
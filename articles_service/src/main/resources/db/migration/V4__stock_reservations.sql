@@ -0,0 +1,20 @@
+-- Réservations de stock : le décrément est fait en base (update ... where stock >= ?)
+-- et la réservation garde les lignes pour pouvoir rendre le stock à l'expiration ou à l'annulation.
+create table if not exists stock_reservations (
+    id          varchar(36) primary key,
+    status      varchar(16) not null,
+    expires_at  timestamp(6) with time zone not null,
+    created_at  timestamp(6) with time zone not null,
+    updated_at  timestamp(6) with time zone
+);
+
+create table if not exists stock_reservation_lines (
+    reservation_id varchar(36) not null references stock_reservations (id) on delete cascade,
+    article_id     bigint      not null,
+    quantity       integer     not null
+);
+
+create index if not exists idx_stock_reservation_lines_reservation on stock_reservation_lines (reservation_id);
+
+-- Balayage des réservations expirées par le job planifié
+create index if not exists idx_stock_reservations_status_expires_at on stock_reservations (status, expires_at);
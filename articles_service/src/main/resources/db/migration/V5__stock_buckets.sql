@@ -0,0 +1,11 @@
+-- Stock « strié » pour les articles très sollicités (ventes flash) : le stock est réparti
+-- sur plusieurs lignes afin que les réservations concurrentes ne se bloquent pas sur une seule.
+-- Pour un article strié, stock effectif = articles.stock + somme des buckets.
+alter table articles add column if not exists stock_stripes integer;
+
+create table if not exists article_stock_buckets (
+    article_id bigint  not null references articles (id) on delete cascade,
+    bucket     integer not null,
+    stock      integer not null check (stock >= 0),
+    primary key (article_id, bucket)
+);
@@ -0,0 +1,14 @@
+-- Recherche du catalogue (GET /api/articles/search)
+create extension if not exists pg_trgm;
+
+-- Recherche plein texte (q) sur le nom et la description
+create index if not exists idx_articles_search_tsv
+    on articles using gin (to_tsvector('simple', name || ' ' || coalesce(description, '')));
+
+-- Préfixe de nom (name) : lower(name) like 'xxx%'
+create index if not exists idx_articles_lower_name_trgm on articles using gin (lower(name) gin_trgm_ops);
+
+-- Pagination par clé (keyset) pour chaque tri
+create index if not exists idx_articles_lower_name_id on articles (lower(name), id);
+create index if not exists idx_articles_price_id on articles (price, id);
+create index if not exists idx_articles_created_at_id on articles (created_at desc, id desc);
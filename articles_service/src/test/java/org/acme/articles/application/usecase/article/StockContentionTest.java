@@ -0,0 +1,181 @@
+package org.acme.articles.application;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.acme.articles.application.dto.request.StockReservationLineRequest;
+import org.acme.articles.application.dto.request.StockReservationRequest;
+import org.acme.articles.application.port.out.ArticleEventPublisher;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Flash-sale contention: {@value #THREADS} threads reserving one unit of the same article, first on a single
+ * stock row, then with the stock striped across {@value #STRIPES} buckets. Both must end with the exact stock;
+ * the throughput of each mode is logged.
+ */
+@QuarkusTest
+@TestProfile(StockContentionTest.NoEvents.class)
+class StockContentionTest {
+
+    private static final Logger LOG = Logger.getLogger(StockContentionTest.class);
+
+    static final int THREADS = 16;
+    static final int STRIPES = 8;
+    private static final int RESERVATIONS_PER_THREAD = 50;
+    private static final int INITIAL_STOCK = 100_000;
+
+    @Inject
+    StockReservationService stockReservationService;
+
+    @Inject
+    ArticleService articleService;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Test
+    void reservesTheExactQuantityOnASingleRowAndOnStripes() throws Exception {
+        long singleRow = createArticle("Single row");
+        long striped = createArticle("Striped");
+        articleService.configureStockStriping(striped, STRIPES);
+
+        double singleRowPerSecond = reserveConcurrently(singleRow);
+        double stripedPerSecond = reserveConcurrently(striped);
+        LOG.infof("%d threads reserving one article: single row %.0f reservations/s, %d stripes %.0f reservations/s",
+                THREADS, singleRowPerSecond, STRIPES, stripedPerSecond);
+
+        int reserved = THREADS * RESERVATIONS_PER_THREAD;
+        assertEquals(INITIAL_STOCK - reserved, effectiveStock(singleRow));
+        assertEquals(INITIAL_STOCK - reserved, effectiveStock(striped));
+    }
+
+    @Test
+    void countsTheStockReleasedBackToTheRowOfAStripedArticle() {
+        long articleId = createArticle("Row share", 10);
+        articleService.configureStockStriping(articleId, STRIPES);
+        // A release that found the buckets being rewritten leaves its quantity on the article row
+        QuarkusTransaction.requiringNew().run(() -> entityManager.createNativeQuery(
+                        "update articles set stock = 5 where id = :id")
+                .setParameter("id", articleId)
+                .executeUpdate());
+
+        stockReservationService.reserve(request(articleId, 15));
+
+        assertEquals(0, effectiveStock(articleId));
+    }
+
+    private double reserveConcurrently(long articleId) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> workers = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < RESERVATIONS_PER_THREAD; i++) {
+                        stockReservationService.reserve(request(articleId, 1));
+                    }
+                    return null;
+                }));
+            }
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            double seconds = (System.nanoTime() - started) / 1e9;
+            return THREADS * RESERVATIONS_PER_THREAD / seconds;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long createArticle(String name) {
+        return createArticle(name, INITIAL_STOCK);
+    }
+
+    private long createArticle(String name, int stock) {
+        return QuarkusTransaction.requiringNew().call(() -> ((Number) entityManager.createNativeQuery(
+                        "insert into articles (id, name, price, stock, category, created_at) "
+                                + "values (nextval('articles_seq'), :name, 10, :stock, 'flash-sale', now()) returning id")
+                .setParameter("name", name + " " + System.nanoTime())
+                .setParameter("stock", stock)
+                .getSingleResult()).longValue());
+    }
+
+    private int effectiveStock(long articleId) {
+        return QuarkusTransaction.requiringNew().call(() -> ((Number) entityManager.createNativeQuery(
+                        "select a.stock + coalesce((select sum(b.stock) from article_stock_buckets b "
+                                + "where b.article_id = a.id), 0) from articles a where a.id = :id")
+                .setParameter("id", articleId)
+                .getSingleResult()).intValue());
+    }
+
+    private static StockReservationRequest request(long articleId, int quantity) {
+        StockReservationLineRequest line = new StockReservationLineRequest();
+        line.setArticleId(articleId);
+        line.setQuantity(quantity);
+        StockReservationRequest request = new StockReservationRequest();
+        request.setLines(List.of(line));
+        return request;
+    }
+
+    public static class NoEvents implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            // Reservations left to expire would put stock back in the middle of the run
+            return Map.of("quarkus.scheduler.enabled", "false");
+        }
+
+        @Override
+        public Set<Class<?>> getEnabledAlternatives() {
+            return Set.of(DiscardedArticleEvents.class);
+        }
+    }
+
+    /**
+     * Keeps thousands of stock events from queuing up in front of a Kafka broker the test does not start.
+     */
+    @ApplicationScoped
+    @Alternative
+    static class DiscardedArticleEvents implements ArticleEventPublisher {
+
+        @Override
+        public void publishArticleCreated(Long articleId, String articleName, int stock) {
+        }
+
+        @Override
+        public void publishArticleUpdated(Long articleId, String articleName, int stock) {
+        }
+
+        @Override
+        public void publishArticleDeleted(Long articleId, String articleName) {
+        }
+
+        @Override
+        public void publishStockChanged(Long articleId, String articleName, int oldStock, int newStock) {
+        }
+
+        @Override
+        public void publishStockLow(Long articleId, String articleName, int stock) {
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.acme.articles.domain.model;
+
+import org.acme.articles.domain.value.StockLine;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StockReservationTest {
+
+    private final Instant expiresAt = Instant.parse("2026-01-01T10:15:00Z");
+    private final StockReservation reservation = StockReservation.create(List.of(StockLine.of(1L, 2)), expiresAt);
+
+    @Test
+    void expiryJobDoesNotReleaseACommittedReservation() {
+        reservation.commit(expiresAt.minusSeconds(1));
+
+        assertFalse(reservation.releaseIfExpired(expiresAt.plus(Duration.ofMinutes(1))));
+        assertEquals(StockReservationStatus.COMMITTED, reservation.getStatus());
+    }
+
+    @Test
+    void expiryJobReleasesAnExpiredActiveReservationOnce() {
+        Instant later = expiresAt.plusSeconds(1);
+
+        assertTrue(reservation.releaseIfExpired(later));
+        assertFalse(reservation.releaseIfExpired(later));
+        assertEquals(StockReservationStatus.RELEASED, reservation.getStatus());
+    }
+
+    @Test
+    void expiryJobLeavesAReservationThatHasNotExpiredYet() {
+        assertFalse(reservation.releaseIfExpired(expiresAt.minusSeconds(1)));
+        assertEquals(StockReservationStatus.RESERVED, reservation.getStatus());
+    }
+
+    @Test
+    void refusesToCommitAnExpiredReservation() {
+        assertThrows(IllegalStateException.class, () -> reservation.commit(expiresAt.plusSeconds(1)));
+        assertEquals(StockReservationStatus.RESERVED, reservation.getStatus());
+    }
+
+    @Test
+    void refusesToCommitAReleasedReservation() {
+        reservation.release();
+
+        assertThrows(IllegalStateException.class, () -> reservation.commit(expiresAt.minusSeconds(1)));
+    }
+
+    @Test
+    void committingTwiceIsANoOpEvenOnceExpired() {
+        reservation.commit(expiresAt.minusSeconds(1));
+
+        reservation.commit(expiresAt.plusSeconds(1));
+
+        assertEquals(StockReservationStatus.COMMITTED, reservation.getStatus());
+    }
+}
@@ -0,0 +1,127 @@
+package org.acme.articles.infrastructure.cache;
+
+import org.acme.articles.infrastructure.cache.CatalogResponseCache.CachedResponse;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogResponseCacheTest {
+
+    private final CatalogResponseCache cache = new CatalogResponseCache(100, Duration.ofMinutes(1));
+
+    @Test
+    void loadsOnceThenServesTheSameBytes() {
+        CachedResponse loaded = cache.get("all", () -> bytes("[1]"));
+
+        CachedResponse served = cache.get("all", () -> {
+            throw new AssertionError("catalog should not be reloaded");
+        });
+
+        assertSame(loaded, served);
+    }
+
+    @Test
+    void reloadsAfterInvalidation() {
+        cache.get("all", () -> bytes("[1]"));
+        cache.invalidate();
+
+        CachedResponse reloaded = cache.get("all", () -> bytes("[1,2]"));
+
+        assertEquals("[1,2]", new String(reloaded.body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void neverServesALoadThatRacedWithAWrite() {
+        cache.get("all", () -> {
+            byte[] body = bytes("[1]");
+            cache.invalidate();
+            return body;
+        });
+        AtomicInteger loads = new AtomicInteger();
+
+        CachedResponse served = cache.get("all", () -> {
+            loads.incrementAndGet();
+            return bytes("[1,2]");
+        });
+
+        assertEquals(1, loads.get());
+        assertEquals("[1,2]", new String(served.body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void keepsServingWithinTheStockStalenessWindow() {
+        CachedResponse loaded = cache.get("all", () -> bytes("[1]"));
+        cache.stockChanged();
+
+        CachedResponse served = cache.get("all", () -> {
+            throw new AssertionError("a stock change should not reload the catalog within the window");
+        });
+
+        assertSame(loaded, served);
+    }
+
+    @Test
+    void reloadsAfterAStockChangeOnceTheWindowIsOver() {
+        CatalogResponseCache immediate = new CatalogResponseCache(100, Duration.ZERO);
+        immediate.get("all", () -> bytes("[1]"));
+        immediate.stockChanged();
+
+        CachedResponse reloaded = immediate.get("all", () -> bytes("[2]"));
+        CachedResponse served = immediate.get("all", () -> {
+            throw new AssertionError("catalog should not be reloaded without a new stock change");
+        });
+
+        assertEquals("[2]", new String(reloaded.body(), StandardCharsets.UTF_8));
+        assertSame(reloaded, served);
+    }
+
+    @Test
+    void derivesTheEtagFromTheBody() {
+        CachedResponse first = cache.get("all", () -> bytes("[1]"));
+        CachedResponse sameBody = cache.get("available", () -> bytes("[1]"));
+        CachedResponse otherBody = cache.get("category:books", () -> bytes("[2]"));
+
+        assertEquals(first.etag(), sameBody.etag());
+        assertNotEquals(first.etag(), otherBody.etag());
+        assertTrue(first.etag().startsWith("\"") && first.etag().endsWith("\""));
+    }
+
+    @Test
+    void matchesIfNoneMatchCandidates() {
+        CachedResponse cached = cache.get("all", () -> bytes("[1]"));
+
+        assertTrue(cached.matches(cached.etag()));
+        assertTrue(cached.matches("\"other\", " + cached.etag()));
+        assertTrue(cached.matches("*"));
+        assertFalse(cached.matches("\"other\""));
+        assertFalse(cached.matches(null));
+    }
+
+    @Test
+    void staysWithinMaxEntries() {
+        CatalogResponseCache small = new CatalogResponseCache(2, Duration.ofMinutes(1));
+        small.get("a", () -> bytes("a"));
+        small.get("b", () -> bytes("b"));
+        small.get("c", () -> bytes("c"));
+        AtomicInteger loads = new AtomicInteger();
+
+        small.get("a", () -> {
+            loads.incrementAndGet();
+            return bytes("a");
+        });
+
+        assertEquals(1, loads.get());
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
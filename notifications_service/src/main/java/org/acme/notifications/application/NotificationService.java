@@ -1,5 +1,7 @@
 package org.acme.notifications.application;
 
+import io.smallrye.mutiny.Multi;
+import org.acme.notifications.application.dto.request.NotificationCommand;
 import org.acme.notifications.application.dto.response.NotificationResponse;
 
 import java.util.List;
@@ -18,13 +20,17 @@ public interface NotificationService {
 
     void createLowStockNotification(Long articleId, String articleName, int currentStock);
 
+    void createNotifications(List<NotificationCommand> commands);
+
     List<NotificationResponse> getUserNotifications(Long userId);
 
     List<NotificationResponse> getUnreadNotifications(Long userId);
 
+    Multi<NotificationResponse> streamNotifications(Long userId);
+
     long getUnreadCount(Long userId);
 
     NotificationResponse markAsRead(Long notificationId, Long userId);
 
-    void markAllAsRead(Long userId);
+    int markAllAsRead(Long userId);
 }
@@ -1,16 +1,24 @@
 package org.acme.notifications.application;
 
+import io.smallrye.mutiny.Multi;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import org.acme.notifications.application.exception.NotificationApplicationException;
+import org.acme.notifications.application.port.out.NotificationPush;
+import org.acme.notifications.application.port.out.UnreadCounter;
 import org.acme.notifications.domain.model.Notification;
-import org.acme.notifications.domain.model.NotificationType;
 import org.acme.notifications.domain.repository.NotificationRepository;
+import org.acme.notifications.domain.repository.ProcessedEventRepository;
+import org.acme.notifications.application.dto.request.NotificationCommand;
 import org.acme.notifications.application.dto.response.NotificationResponse;
 import org.jboss.logging.Logger;
 
+import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @ApplicationScoped
@@ -20,98 +28,90 @@ public class NotificationServiceImpl implements NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final NotificationMapper notificationMapper;
+    private final UnreadCounter unreadCounter;
+    private final NotificationPush notificationPush;
+    private final ProcessedEventRepository processedEventRepository;
 
     @Inject
     public NotificationServiceImpl(NotificationRepository notificationRepository,
-                                   NotificationMapper notificationMapper) {
+                                   NotificationMapper notificationMapper,
+                                   UnreadCounter unreadCounter,
+                                   NotificationPush notificationPush,
+                                   ProcessedEventRepository processedEventRepository) {
         this.notificationRepository = notificationRepository;
+        this.processedEventRepository = processedEventRepository;
         this.notificationMapper = notificationMapper;
+        this.unreadCounter = unreadCounter;
+        this.notificationPush = notificationPush;
     }
 
     @Transactional
     @Override
     public void createOrderCreatedNotification(Long userId, Long orderId, String totalAmount, int itemCount) {
-        Notification notification = Notification.create(
-                userId,
-                NotificationType.ORDER_CREATED,
-                "Order Created",
-                String.format("Your order #%d has been created successfully with %d items (Total: %s €)",
-                        orderId, itemCount, totalAmount),
-                orderId
-        );
-        notificationRepository.persist(notification);
-        LOG.infof("Created ORDER_CREATED notification for user %d, order %d", userId, orderId);
+        createNotifications(List.of(NotificationCommand.orderCreated(userId, orderId, totalAmount, itemCount)));
     }
 
     @Transactional
     @Override
     public void createOrderConfirmedNotification(Long userId, Long orderId) {
-        Notification notification = Notification.create(
-                userId,
-                NotificationType.ORDER_CONFIRMED,
-                "Order Confirmed",
-                String.format("Your order #%d has been confirmed and is being processed", orderId),
-                orderId
-        );
-        notificationRepository.persist(notification);
-        LOG.infof("Created ORDER_CONFIRMED notification for user %d, order %d", userId, orderId);
+        createNotifications(List.of(NotificationCommand.orderConfirmed(userId, orderId)));
     }
 
     @Transactional
     @Override
     public void createOrderShippedNotification(Long userId, Long orderId) {
-        Notification notification = Notification.create(
-                userId,
-                NotificationType.ORDER_SHIPPED,
-                "Order Shipped",
-                String.format("Your order #%d has been shipped and is on its way!", orderId),
-                orderId
-        );
-        notificationRepository.persist(notification);
-        LOG.infof("Created ORDER_SHIPPED notification for user %d, order %d", userId, orderId);
+        createNotifications(List.of(NotificationCommand.orderShipped(userId, orderId)));
     }
 
     @Transactional
     @Override
     public void createOrderDeliveredNotification(Long userId, Long orderId) {
-        Notification notification = Notification.create(
-                userId,
-                NotificationType.ORDER_DELIVERED,
-                "Order Delivered",
-                String.format("Your order #%d has been delivered successfully. Enjoy your purchase!", orderId),
-                orderId
-        );
-        notificationRepository.persist(notification);
-        LOG.infof("Created ORDER_DELIVERED notification for user %d, order %d", userId, orderId);
+        createNotifications(List.of(NotificationCommand.orderDelivered(userId, orderId)));
     }
 
     @Transactional
     @Override
     public void createOrderCancelledNotification(Long userId, Long orderId, String reason) {
-        Notification notification = Notification.create(
-                userId,
-                NotificationType.ORDER_CANCELLED,
-                "Order Cancelled",
-                String.format("Your order #%d has been cancelled. Reason: %s", orderId, reason),
-                orderId
-        );
-        notificationRepository.persist(notification);
-        LOG.infof("Created ORDER_CANCELLED notification for user %d, order %d", userId, orderId);
+        createNotifications(List.of(NotificationCommand.orderCancelled(userId, orderId, reason)));
     }
 
     @Transactional
     @Override
     public void createLowStockNotification(Long articleId, String articleName, int currentStock) {
-        Notification notification = Notification.create(
-                1L,
-                NotificationType.STOCK_LOW,
-                "Low Stock Alert",
-                String.format("Article '%s' is running low on stock. Current stock: %d units",
-                        articleName, currentStock),
-                articleId
-        );
-        notificationRepository.persist(notification);
-        LOG.infof("Created STOCK_LOW notification for article %d (%s)", articleId, articleName);
+        createNotifications(List.of(NotificationCommand.lowStock(articleId, articleName, currentStock)));
+    }
+
+    @Transactional
+    @Override
+    public void createNotifications(List<NotificationCommand> commands) {
+        if (commands.isEmpty()) {
+            return;
+        }
+        Set<Long> newEventIds = new HashSet<>(processedEventRepository.markProcessed(commands.stream()
+                .map(NotificationCommand::sourceEventId)
+                .filter(Objects::nonNull)
+                .toList()));
+        // Set.remove also drops an event repeated within the same batch
+        List<Notification> notifications = commands.stream()
+                .filter(command -> command.sourceEventId() == null || newEventIds.remove(command.sourceEventId()))
+                .map(command -> Notification.create(
+                        command.userId(),
+                        command.type(),
+                        command.title(),
+                        command.message(),
+                        command.relatedEntityId()))
+                .toList();
+        notificationRepository.persistAll(notifications);
+        notifications.stream()
+                .collect(Collectors.groupingBy(Notification::getUserId, Collectors.counting()))
+                .forEach(unreadCounter::add);
+        notifications.stream()
+                .map(notificationMapper::toResponse)
+                .forEach(notificationPush::publish);
+        if (notifications.size() < commands.size()) {
+            LOG.infof("Skipped %d already processed events", commands.size() - notifications.size());
+        }
+        LOG.infof("Created %d notifications", notifications.size());
     }
 
     @Override
@@ -128,9 +128,14 @@ public class NotificationServiceImpl implements NotificationService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Multi<NotificationResponse> streamNotifications(Long userId) {
+        return notificationPush.subscribe(userId);
+    }
+
     @Override
     public long getUnreadCount(Long userId) {
-        return notificationRepository.countUnreadByUserId(userId);
+        return unreadCounter.get(userId, () -> notificationRepository.countUnreadByUserId(userId));
     }
 
     @Transactional
@@ -143,15 +148,20 @@ public class NotificationServiceImpl implements NotificationService {
             throw new NotificationApplicationException("Notification not found", 404);
         }
 
-        notification.markAsRead();
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            notification.markAsRead();
+            unreadCounter.add(userId, -1);
+        }
         return notificationMapper.toResponse(notification);
     }
 
     @Transactional
     @Override
-    public void markAllAsRead(Long userId) {
-        notificationRepository.findUnreadByUserId(userId)
-                .forEach(Notification::markAsRead);
-        LOG.infof("Marked unread notifications as read for user %d", userId);
+    public int markAllAsRead(Long userId) {
+        // Notifications arriving while the request runs stay unread
+        int updated = notificationRepository.markAllReadByUserId(userId, Instant.now());
+        unreadCounter.add(userId, -updated);
+        LOG.infof("Marked %d unread notifications as read for user %d", updated, userId);
+        return updated;
     }
 }
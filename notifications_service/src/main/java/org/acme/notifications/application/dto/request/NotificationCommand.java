@@ -0,0 +1,82 @@
+package org.acme.notifications.application.dto.request;
+
+import org.acme.notifications.domain.model.NotificationType;
+
+public record NotificationCommand(
+        Long userId,
+        NotificationType type,
+        String title,
+        String message,
+        Long relatedEntityId,
+        Long sourceEventId
+) {
+
+    private static final long ADMIN_USER_ID = 1L;
+
+    public NotificationCommand(Long userId, NotificationType type, String title, String message, Long relatedEntityId) {
+        this(userId, type, title, message, relatedEntityId, null);
+    }
+
+    /**
+     * Ties the command to the upstream event id so a redelivered event does not create a second notification.
+     */
+    public NotificationCommand fromEvent(Long eventId) {
+        return new NotificationCommand(userId, type, title, message, relatedEntityId, eventId);
+    }
+
+    public static NotificationCommand orderCreated(Long userId, Long orderId, String totalAmount, int itemCount) {
+        return new NotificationCommand(
+                userId,
+                NotificationType.ORDER_CREATED,
+                "Order Created",
+                String.format("Your order #%d has been created successfully with %d items (Total: %s €)",
+                        orderId, itemCount, totalAmount),
+                orderId);
+    }
+
+    public static NotificationCommand orderConfirmed(Long userId, Long orderId) {
+        return new NotificationCommand(
+                userId,
+                NotificationType.ORDER_CONFIRMED,
+                "Order Confirmed",
+                String.format("Your order #%d has been confirmed and is being processed", orderId),
+                orderId);
+    }
+
+    public static NotificationCommand orderShipped(Long userId, Long orderId) {
+        return new NotificationCommand(
+                userId,
+                NotificationType.ORDER_SHIPPED,
+                "Order Shipped",
+                String.format("Your order #%d has been shipped and is on its way!", orderId),
+                orderId);
+    }
+
+    public static NotificationCommand orderDelivered(Long userId, Long orderId) {
+        return new NotificationCommand(
+                userId,
+                NotificationType.ORDER_DELIVERED,
+                "Order Delivered",
+                String.format("Your order #%d has been delivered successfully. Enjoy your purchase!", orderId),
+                orderId);
+    }
+
+    public static NotificationCommand orderCancelled(Long userId, Long orderId, String reason) {
+        return new NotificationCommand(
+                userId,
+                NotificationType.ORDER_CANCELLED,
+                "Order Cancelled",
+                String.format("Your order #%d has been cancelled. Reason: %s", orderId, reason),
+                orderId);
+    }
+
+    public static NotificationCommand lowStock(Long articleId, String articleName, int currentStock) {
+        return new NotificationCommand(
+                ADMIN_USER_ID,
+                NotificationType.STOCK_LOW,
+                "Low Stock Alert",
+                String.format("Article '%s' is running low on stock. Current stock: %d units",
+                        articleName, currentStock),
+                articleId);
+    }
+}
@@ -0,0 +1,14 @@
+package org.acme.notifications.application.port.out;
+
+import io.smallrye.mutiny.Multi;
+import org.acme.notifications.application.dto.response.NotificationResponse;
+
+public interface NotificationPush {
+
+    /**
+     * Delivers the notification to the user's open streams once the current transaction commits.
+     */
+    void publish(NotificationResponse notification);
+
+    Multi<NotificationResponse> subscribe(Long userId);
+}
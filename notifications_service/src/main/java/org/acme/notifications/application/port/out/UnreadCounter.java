@@ -0,0 +1,24 @@
+package org.acme.notifications.application.port.out;
+
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+public interface UnreadCounter {
+
+    /**
+     * Returns the cached unread count, loading it once through {@code loader} for users not tracked yet.
+     */
+    long get(Long userId, LongSupplier loader);
+
+    /**
+     * Adjusts a tracked counter. Inside a transaction the change is only applied once it commits.
+     */
+    void add(Long userId, long delta);
+
+    /**
+     * Resets tracked counters to the authoritative counts returned by {@code unreadCounts}; users absent from the
+     * map have none. Counters updated while the counts are being computed keep their value until the next run.
+     */
+    void reconcile(Supplier<Map<Long, Long>> unreadCounts);
+}
@@ -2,13 +2,17 @@ package org.acme.notifications.domain.repository;
 
 import org.acme.notifications.domain.model.Notification;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface NotificationRepository {
 
     void persist(Notification notification);
 
+    void persistAll(List<Notification> notifications);
+
     Optional<Notification> findOptionalById(Long id);
 
     List<Notification> findByUserId(Long userId);
@@ -16,4 +20,8 @@ public interface NotificationRepository {
     List<Notification> findUnreadByUserId(Long userId);
 
     long countUnreadByUserId(Long userId);
+
+    Map<Long, Long> countUnreadGroupedByUserId();
+
+    int markAllReadByUserId(Long userId, Instant upToCreatedAt);
 }
@@ -0,0 +1,18 @@
+package org.acme.notifications.domain.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Ids of the upstream events already turned into notifications, used to drop redelivered records.
+ */
+public interface ProcessedEventRepository {
+
+    /**
+     * Records the ids in the current transaction and returns those that had not been recorded before.
+     */
+    Set<Long> markProcessed(Collection<Long> eventIds);
+
+    int deleteProcessedBefore(Instant cutoff);
+}
@@ -0,0 +1,79 @@
+package org.acme.notifications.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.notifications.application.port.out.UnreadCounter;
+import org.acme.notifications.infrastructure.transaction.AfterCommit;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+@ApplicationScoped
+public class InMemoryUnreadCounter implements UnreadCounter {
+
+    private final ConcurrentMap<Long, Count> counters;
+    private final AfterCommit afterCommit;
+
+    @Inject
+    public InMemoryUnreadCounter(AfterCommit afterCommit,
+                                 @ConfigProperty(name = "unread-counter.max-users", defaultValue = "100000") long maxUsers) {
+        this.afterCommit = afterCommit;
+        // Least recently used users are evicted and simply reloaded from the database on their next read
+        Cache<Long, Count> cache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .build();
+        this.counters = cache.asMap();
+    }
+
+    @Override
+    public long get(Long userId, LongSupplier loader) {
+        Count count = counters.get(userId);
+        if (count == null) {
+            // Loaded outside the map lock; a concurrent loader simply loses the race
+            Count loaded = new Count(loader.getAsLong(), 0);
+            count = counters.putIfAbsent(userId, loaded);
+            if (count == null) {
+                count = loaded;
+            }
+        }
+        return count.unread();
+    }
+
+    @Override
+    public void add(Long userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        afterCommit.run(() -> counters.computeIfPresent(userId, (id, count) -> count.plus(delta)));
+    }
+
+    @Override
+    public void reconcile(Supplier<Map<Long, Long>> unreadCounts) {
+        // Snapshot before querying: a counter that moved while the query ran may already hold a change the
+        // query did not see, so it is left alone until the next run instead of being overwritten
+        Map<Long, Count> snapshot = new HashMap<>(counters);
+        Map<Long, Long> authoritative = unreadCounts.get();
+        snapshot.forEach((userId, seen) ->
+                counters.replace(userId, seen, seen.reset(authoritative.getOrDefault(userId, 0L))));
+    }
+
+    /**
+     * Immutable counter value; {@code version} changes on every update so {@code replace} acts as a compare-and-set.
+     */
+    private record Count(long unread, long version) {
+
+        Count plus(long delta) {
+            return new Count(Math.max(0, unread + delta), version + 1);
+        }
+
+        Count reset(long authoritative) {
+            return new Count(authoritative, version + 1);
+        }
+    }
+}
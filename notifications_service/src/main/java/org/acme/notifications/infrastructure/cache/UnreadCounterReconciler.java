@@ -0,0 +1,32 @@
+package org.acme.notifications.infrastructure.cache;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.notifications.application.port.out.UnreadCounter;
+import org.acme.notifications.domain.repository.NotificationRepository;
+import org.jboss.logging.Logger;
+
+import java.util.Map;
+
+@ApplicationScoped
+public class UnreadCounterReconciler {
+
+    private static final Logger LOG = Logger.getLogger(UnreadCounterReconciler.class);
+
+    @Inject
+    NotificationRepository notificationRepository;
+
+    @Inject
+    UnreadCounter unreadCounter;
+
+    @Scheduled(every = "${unread-counter.reconcile-interval}", delayed = "${unread-counter.reconcile-interval}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void reconcile() {
+        unreadCounter.reconcile(() -> {
+            Map<Long, Long> unreadCounts = notificationRepository.countUnreadGroupedByUserId();
+            LOG.debugf("Reconciling unread counters against %d users with unread notifications", unreadCounts.size());
+            return unreadCounts;
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package org.acme.notifications.infrastructure.messaging;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * An {@code article.events} record as published by articles_service.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ArticleEvent(String eventType,
+                           Long articleId,
+                           String articleName,
+                           Integer oldStock,
+                           Integer newStock) {
+}
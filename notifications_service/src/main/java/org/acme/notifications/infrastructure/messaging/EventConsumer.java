@@ -1,102 +1,158 @@
 package org.acme.notifications.infrastructure.messaging;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.smallrye.reactive.messaging.annotations.Blocking;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.acme.notifications.application.NotificationService;
+import org.acme.notifications.application.dto.request.NotificationCommand;
+import org.acme.shared.messaging.EventCodecs;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.header.Header;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
 import org.jboss.logging.Logger;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
 @ApplicationScoped
 public class EventConsumer {
 
     private static final Logger LOG = Logger.getLogger(EventConsumer.class);
+    private static final String OUTBOX_ID_HEADER = "outbox-id";
 
-    @Inject
-    ObjectMapper objectMapper;
+    private final EventCodecs eventCodecs;
+    private final NotificationService notificationService;
 
     @Inject
-    NotificationService notificationService;
+    public EventConsumer(EventCodecs eventCodecs, NotificationService notificationService) {
+        this.eventCodecs = eventCodecs;
+        this.notificationService = notificationService;
+    }
 
+    /**
+     * Receives a whole Kafka poll at once. Notifications for the batch are written in a single transaction and
+     * the batch offsets are only acknowledged once this method returns, i.e. after the commit. Records carry the
+     * orders outbox id, so a batch re-published after a relay crash is recognised and skipped.
+     * <p>
+     * If the batch insert fails, the notifications are retried one by one so a single bad record cannot take the
+     * rest of the poll with it. A record that still fails is rethrown: the channel fails without committing the
+     * batch offsets, and the events already written are skipped on redelivery.
+     */
     @Incoming("order-events")
     @Blocking
-    public void consumeOrderEvent(String message) {
+    public void consumeOrderEvents(ConsumerRecords<String, byte[]> records) {
+        List<NotificationCommand> commands = new ArrayList<>(records.count());
+        for (ConsumerRecord<String, byte[]> record : records) {
+            Long outboxId = outboxId(record);
+            toCommand(record).map(command -> command.fromEvent(outboxId)).ifPresent(commands::add);
+        }
+        try {
+            notificationService.createNotifications(commands);
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Batch of %d notifications failed, retrying them one by one", commands.size());
+            for (NotificationCommand command : commands) {
+                notificationService.createNotifications(List.of(command));
+            }
+        }
+        LOG.infof("Processed order event batch: %d records, %d notifications", records.count(), commands.size());
+    }
+
+    private static Long outboxId(ConsumerRecord<String, byte[]> record) {
+        Header header = record.headers().lastHeader(OUTBOX_ID_HEADER);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(header.value(), StandardCharsets.UTF_8));
+        } catch (NumberFormatException e) {
+            LOG.warnf("Ignoring invalid %s header at offset %d", OUTBOX_ID_HEADER, record.offset());
+            return null;
+        }
+    }
+
+    private Optional<NotificationCommand> toCommand(ConsumerRecord<String, byte[]> record) {
         try {
-            LOG.infof("Received order event: %s", message);
-            JsonNode event = objectMapper.readTree(message);
-            
-            String eventType = event.get("eventType").asText();
-            Long orderId = event.get("orderId").asLong();
-            Long userId = event.get("userId").asLong();
-
-            switch (eventType) {
+            OrderEvent event = eventCodecs.forRecord(record.headers(), OrderEvent.class).decode(record.value());
+            if (event.eventType() == null || event.orderId() == null || event.userId() == null) {
+                LOG.warnf("Ignoring malformed order event at offset %d", record.offset());
+                return Optional.empty();
+            }
+
+            Long orderId = event.orderId();
+            Long userId = event.userId();
+
+            switch (event.eventType()) {
                 case "ORDER_CREATED":
-                    String totalAmount = event.has("totalAmount") ? event.get("totalAmount").asText() : "0";
-                    int itemCount = event.has("itemCount") ? event.get("itemCount").asInt() : 0;
-                    notificationService.createOrderCreatedNotification(userId, orderId, totalAmount, itemCount);
-                    break;
-                    
+                    String totalAmount = event.totalAmount() != null ? event.totalAmount() : "0";
+                    int itemCount = event.itemCount() != null ? event.itemCount() : 0;
+                    return Optional.of(NotificationCommand.orderCreated(userId, orderId, totalAmount, itemCount));
+
                 case "ORDER_CONFIRMED":
-                    notificationService.createOrderConfirmedNotification(userId, orderId);
-                    break;
-                    
+                    return Optional.of(NotificationCommand.orderConfirmed(userId, orderId));
+
                 case "ORDER_SHIPPED":
-                    notificationService.createOrderShippedNotification(userId, orderId);
-                    break;
-                    
+                    return Optional.of(NotificationCommand.orderShipped(userId, orderId));
+
                 case "ORDER_DELIVERED":
-                    notificationService.createOrderDeliveredNotification(userId, orderId);
-                    break;
-                    
+                    return Optional.of(NotificationCommand.orderDelivered(userId, orderId));
+
                 case "ORDER_CANCELLED":
-                    String reason = event.has("reason") ? event.get("reason").asText() : "Unknown reason";
-                    notificationService.createOrderCancelledNotification(userId, orderId, reason);
-                    break;
-                    
+                    String reason = event.reason() != null ? event.reason() : "Unknown reason";
+                    return Optional.of(NotificationCommand.orderCancelled(userId, orderId, reason));
+
                 default:
-                    LOG.warnf("Unknown order event type: %s", eventType);
+                    LOG.warnf("Unknown order event type: %s", event.eventType());
+                    return Optional.empty();
             }
         } catch (Exception e) {
             LOG.errorf("Error processing order event: %s", e.getMessage());
+            return Optional.empty();
         }
     }
 
     @Incoming("article-events")
     @Blocking
-    public void consumeArticleEvent(String message) {
+    public void consumeArticleEvent(ConsumerRecord<String, byte[]> record) {
         try {
-            LOG.infof("Received article event: %s", message);
-            JsonNode event = objectMapper.readTree(message);
-            
-            String eventType = event.get("eventType").asText();
-            Long articleId = event.get("articleId").asLong();
-            String articleName = event.get("articleName").asText();
-
-            switch (eventType) {
+            ArticleEvent event = eventCodecs.forRecord(record.headers(), ArticleEvent.class).decode(record.value());
+            if (event.eventType() == null || event.articleId() == null) {
+                LOG.warnf("Ignoring malformed article event at offset %d", record.offset());
+                return;
+            }
+
+            Long articleId = event.articleId();
+            String articleName = event.articleName();
+
+            switch (event.eventType()) {
                 case "ARTICLE_CREATED":
                     // For admin notifications - could be enhanced to notify specific users
                     LOG.infof("Article created: %s (ID: %d)", articleName, articleId);
                     break;
-                    
+
                 case "ARTICLE_UPDATED":
                     LOG.infof("Article updated: %s (ID: %d)", articleName, articleId);
                     break;
-                    
+
                 case "STOCK_CHANGED":
-                    int newStock = event.get("newStock").asInt();
-                    int oldStock = event.has("oldStock") ? event.get("oldStock").asInt() : 0;
+                    if (event.newStock() == null) {
+                        LOG.warnf("Ignoring stock change without newStock for article %d", articleId);
+                        break;
+                    }
+                    int newStock = event.newStock();
+                    int oldStock = event.oldStock() != null ? event.oldStock() : 0;
                     LOG.infof("Stock changed for %s: %d -> %d", articleName, oldStock, newStock);
-                    
+
                     // Notify admins if stock is low
                     if (newStock < 10) {
                         notificationService.createLowStockNotification(articleId, articleName, newStock);
                     }
                     break;
-                    
+
                 default:
-                    LOG.warnf("Unknown article event type: %s", eventType);
+                    LOG.debugf("Ignoring article event type: %s", event.eventType());
             }
         } catch (Exception e) {
             LOG.errorf("Error processing article event: %s", e.getMessage());
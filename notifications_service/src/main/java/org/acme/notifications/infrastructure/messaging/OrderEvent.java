@@ -0,0 +1,15 @@
+package org.acme.notifications.infrastructure.messaging;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * An {@code order-events} record as published by orders_service.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record OrderEvent(String eventType,
+                         Long orderId,
+                         Long userId,
+                         String totalAmount,
+                         Integer itemCount,
+                         String reason) {
+}
@@ -3,7 +3,10 @@ package org.acme.notifications.infrastructure.persistence;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.acme.notifications.domain.model.Notification;
 import org.acme.notifications.domain.repository.NotificationRepository;
@@ -22,6 +25,11 @@ public class NotificationJpaRepository implements NotificationRepository {
         }
     }
 
+    public void persistAll(List<Notification> notifications) {
+        // New entities only: ids come from the pooled sequence, so the inserts go out as JDBC batches on flush
+        notifications.forEach(entityManager::persist);
+    }
+
     public Optional<Notification> findOptionalById(Long id) {
         return Optional.ofNullable(entityManager.find(Notification.class, id));
     }
@@ -49,4 +57,25 @@ public class NotificationJpaRepository implements NotificationRepository {
                 .setParameter("userId", userId)
                 .getSingleResult();
     }
+
+    public Map<Long, Long> countUnreadGroupedByUserId() {
+        List<Object[]> rows = entityManager.createQuery(
+                        "select n.userId, count(n) from Notification n where n.isRead = false group by n.userId",
+                        Object[].class)
+                .getResultList();
+        Map<Long, Long> counts = new HashMap<>(rows.size());
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    public int markAllReadByUserId(Long userId, Instant upToCreatedAt) {
+        return entityManager.createQuery(
+                        "update Notification n set n.isRead = true "
+                                + "where n.userId = :userId and n.isRead = false and n.createdAt <= :upTo")
+                .setParameter("userId", userId)
+                .setParameter("upTo", upToCreatedAt)
+                .executeUpdate();
+    }
 }
@@ -0,0 +1,55 @@
+package org.acme.notifications.infrastructure.persistence;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.acme.notifications.domain.repository.ProcessedEventRepository;
+import org.hibernate.Session;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+@ApplicationScoped
+public class ProcessedEventJpaRepository implements ProcessedEventRepository {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Override
+    public Set<Long> markProcessed(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Set.of();
+        }
+        // One round trip for the whole batch; ids already present are skipped and not returned
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            Array ids = connection.createArrayOf("bigint", eventIds.toArray());
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "insert into processed_order_events (outbox_id, processed_at) "
+                            + "select distinct unnest(?), now() "
+                            + "on conflict (outbox_id) do nothing returning outbox_id")) {
+                statement.setArray(1, ids);
+                Set<Long> inserted = new HashSet<>();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        inserted.add(resultSet.getLong(1));
+                    }
+                }
+                return inserted;
+            } finally {
+                ids.free();
+            }
+        });
+    }
+
+    @Override
+    public int deleteProcessedBefore(Instant cutoff) {
+        return entityManager.createNativeQuery("delete from processed_order_events where processed_at < :cutoff")
+                .setParameter("cutoff", cutoff)
+                .executeUpdate();
+    }
+}
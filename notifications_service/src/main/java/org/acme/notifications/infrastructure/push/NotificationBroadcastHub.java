@@ -0,0 +1,59 @@
+package org.acme.notifications.infrastructure.push;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.notifications.application.dto.response.NotificationResponse;
+import org.acme.notifications.application.port.out.NotificationPush;
+import org.acme.notifications.infrastructure.transaction.AfterCommit;
+import org.jboss.logging.Logger;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-process fan-out of new notifications to the SSE streams opened on this instance.
+ */
+@ApplicationScoped
+public class NotificationBroadcastHub implements NotificationPush {
+
+    private static final Logger LOG = Logger.getLogger(NotificationBroadcastHub.class);
+    private static final int SUBSCRIBER_BUFFER_SIZE = 256;
+
+    private final ConcurrentMap<Long, Set<MultiEmitter<? super NotificationResponse>>> subscribers =
+            new ConcurrentHashMap<>();
+
+    @Inject
+    AfterCommit afterCommit;
+
+    @Override
+    public void publish(NotificationResponse notification) {
+        afterCommit.run(() -> {
+            Set<MultiEmitter<? super NotificationResponse>> emitters = subscribers.get(notification.getUserId());
+            if (emitters != null) {
+                emitters.forEach(emitter -> emitter.emit(notification));
+            }
+        });
+    }
+
+    @Override
+    public Multi<NotificationResponse> subscribe(Long userId) {
+        Multi<NotificationResponse> stream = Multi.createFrom().emitter(emitter -> {
+            subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(emitter);
+            emitter.onTermination(() -> unsubscribe(userId, emitter));
+            LOG.debugf("Notification stream opened for user %d", userId);
+        });
+        // A client that cannot keep up is disconnected and resyncs through /unread when it reconnects
+        return stream.onOverflow().buffer(SUBSCRIBER_BUFFER_SIZE);
+    }
+
+    private void unsubscribe(Long userId, MultiEmitter<? super NotificationResponse> emitter) {
+        subscribers.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+        LOG.debugf("Notification stream closed for user %d", userId);
+    }
+}
@@ -0,0 +1,33 @@
+package org.acme.notifications.infrastructure.scheduling;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.acme.notifications.domain.repository.ProcessedEventRepository;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@ApplicationScoped
+public class ProcessedEventPurgeJob {
+
+    private static final Logger LOG = Logger.getLogger(ProcessedEventPurgeJob.class);
+
+    @Inject
+    ProcessedEventRepository processedEventRepository;
+
+    @ConfigProperty(name = "processed-events.retention", defaultValue = "168h")
+    Duration retention;
+
+    @Transactional
+    @Scheduled(every = "${processed-events.purge-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void purge() {
+        int purged = processedEventRepository.deleteProcessedBefore(Instant.now().minus(retention));
+        if (purged > 0) {
+            LOG.infof("Purged %d processed event ids", purged);
+        }
+    }
+}
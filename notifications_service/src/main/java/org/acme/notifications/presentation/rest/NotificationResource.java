@@ -1,17 +1,23 @@
 package org.acme.notifications.presentation.rest;
 
+import io.smallrye.mutiny.Multi;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
 import org.acme.notifications.application.NotificationService;
 import org.acme.notifications.application.exception.NotificationApplicationException;
 import org.acme.notifications.application.dto.response.NotificationResponse;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.jwt.JsonWebToken;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -28,6 +34,9 @@ public class NotificationResource {
     @Inject
     NotificationService notificationService;
 
+    @ConfigProperty(name = "notifications-stream.heartbeat-interval", defaultValue = "15s")
+    Duration heartbeatInterval;
+
     @GET
     @RolesAllowed({"USER", "ADMIN"})
     @Operation(summary = "Get all notifications", description = "Get all notifications for the authenticated user")
@@ -45,6 +54,26 @@ public class NotificationResource {
         return execute(() -> notificationService.getUnreadNotifications(userId));
     }
 
+    @GET
+    @Path("/stream")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RolesAllowed({"USER", "ADMIN"})
+    @Operation(summary = "Stream notifications", description = "Push new notifications of the authenticated user as Server-Sent Events")
+    public Multi<OutboundSseEvent> streamNotifications(@Context Sse sse) {
+        Long userId = getUserIdFromToken();
+        Multi<OutboundSseEvent> notifications = notificationService.streamNotifications(userId)
+                .map(notification -> sse.newEventBuilder()
+                        .name("notification")
+                        .id(String.valueOf(notification.getId()))
+                        .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                        .data(NotificationResponse.class, notification)
+                        .build());
+        // Comment lines keep proxies and the gateway client from timing out an idle stream
+        Multi<OutboundSseEvent> heartbeats = Multi.createFrom().ticks().every(heartbeatInterval)
+                .map(tick -> sse.newEventBuilder().comment("keep-alive").build());
+        return Multi.createBy().merging().streams(notifications, heartbeats);
+    }
+
     @GET
     @Path("/unread/count")
     @RolesAllowed({"USER", "ADMIN"})
@@ -70,11 +99,8 @@ public class NotificationResource {
     @Operation(summary = "Mark all as read", description = "Mark all notifications as read for the authenticated user")
     public Response markAllAsRead() {
         Long userId = getUserIdFromToken();
-        execute(() -> {
-            notificationService.markAllAsRead(userId);
-            return null;
-        });
-        return Response.ok(Map.of("message", "All notifications marked as read")).build();
+        int updated = execute(() -> notificationService.markAllAsRead(userId));
+        return Response.ok(Map.of("message", "All notifications marked as read", "updated", updated)).build();
     }
 
     private Long getUserIdFromToken() {
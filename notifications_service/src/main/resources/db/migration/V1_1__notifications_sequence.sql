@@ -0,0 +1,8 @@
+-- Identifiants générés par séquence (optimiseur pooled, incrément = IdAllocation.SIZE, via le placeholder id_allocation_size)
+-- pour que les notifications d'un même poll Kafka partent en un seul batch JDBC.
+-- La colonne IDENTITY éventuellement existante reste en place : Hibernate fournit désormais l'id.
+create sequence if not exists notifications_seq start with 1 increment by ${id_allocation_size};
+
+-- Les lignes créées avec l'ancienne colonne IDENTITY ne doivent pas entrer en collision avec la séquence
+-- (marge d'un incrément complet, valable pour les optimiseurs pooled et pooled-lo)
+select setval('notifications_seq', (select coalesce(max(id), 0) from notifications) + ${id_allocation_size});
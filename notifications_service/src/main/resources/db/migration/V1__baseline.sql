@@ -0,0 +1,11 @@
+-- Schéma initial, identique à celui généré par Hibernate (idempotent pour les bases existantes)
+create table if not exists notifications (
+    id                bigint                      not null primary key,
+    user_id           bigint                      not null,
+    type              varchar(32)                 not null,
+    title             varchar(200)                not null,
+    message           text                        not null,
+    is_read           boolean                     not null,
+    related_entity_id bigint,
+    created_at        timestamp(6) with time zone not null
+);
@@ -0,0 +1,6 @@
+-- findByUserId (toutes les notifications, plus récentes d'abord)
+create index if not exists idx_notifications_user_created on notifications (user_id, created_at desc);
+
+-- findUnreadByUserId / countUnreadByUserId / markAllReadByUserId : seules les non lues sont indexées
+create index if not exists idx_notifications_user_unread on notifications (user_id, created_at desc)
+    where is_read = false;
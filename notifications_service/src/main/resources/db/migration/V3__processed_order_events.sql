@@ -0,0 +1,7 @@
+-- Événements de commande déjà traités (en-tête outbox-id) : le relais peut republier un batch après une panne
+create table if not exists processed_order_events (
+    outbox_id    bigint                      not null primary key,
+    processed_at timestamp(6) with time zone not null
+);
+
+create index if not exists idx_processed_order_events_processed_at on processed_order_events (processed_at);
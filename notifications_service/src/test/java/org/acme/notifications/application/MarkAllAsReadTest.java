@@ -0,0 +1,93 @@
+package org.acme.notifications.application;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.acme.notifications.HibernateStatisticsProfile;
+import org.acme.notifications.application.port.out.UnreadCounter;
+import org.acme.notifications.domain.model.Notification;
+import org.acme.notifications.domain.repository.NotificationRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * markAllAsRead on {@value #UNREAD} unread notifications, compared with flipping the same number of entities
+ * through dirty checking as it used to. The statement counts are asserted; the timings of both are only logged.
+ */
+@QuarkusTest
+@TestProfile(HibernateStatisticsProfile.class)
+class MarkAllAsReadTest {
+
+    private static final Logger LOG = Logger.getLogger(MarkAllAsReadTest.class);
+
+    static final int UNREAD = 10_000;
+
+    @Inject
+    NotificationService notificationService;
+
+    @Inject
+    NotificationRepository notificationRepository;
+
+    @Inject
+    UnreadCounter unreadCounter;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Test
+    void marksEveryUnreadNotificationWithOneStatement() {
+        long userId = 10_001;
+        seedUnread(userId);
+        assertEquals(UNREAD, unreadCounter.get(userId, () -> UNREAD));
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        long started = System.nanoTime();
+        int updated = notificationService.markAllAsRead(userId);
+        long bulkMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(UNREAD, updated);
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, countUnread(userId));
+        assertEquals(0, unreadCounter.get(userId, () -> {
+            throw new AssertionError("counter should still be tracked");
+        }));
+
+        long perEntityUserId = 10_002;
+        seedUnread(perEntityUserId);
+        started = System.nanoTime();
+        QuarkusTransaction.requiringNew().run(() ->
+                notificationRepository.findUnreadByUserId(perEntityUserId).forEach(Notification::markAsRead));
+        long perEntityMs = (System.nanoTime() - started) / 1_000_000;
+        LOG.infof("Marking %d notifications read: bulk update %d ms, entity by entity %d ms",
+                UNREAD, bulkMs, perEntityMs);
+    }
+
+    private void seedUnread(long userId) {
+        QuarkusTransaction.requiringNew().run(() -> entityManager.createNativeQuery(
+                        "insert into notifications (id, user_id, type, title, message, is_read, created_at) "
+                                + "select nextval('notifications_seq'), :userId, 'ORDER_CREATED', 'Order created', "
+                                + "'Order #' || n, false, now() - n * interval '1 second' "
+                                + "from generate_series(1, :count) n")
+                .setParameter("userId", userId)
+                .setParameter("count", UNREAD)
+                .executeUpdate());
+    }
+
+    private long countUnread(long userId) {
+        return QuarkusTransaction.requiringNew().call(() -> ((Number) entityManager.createNativeQuery(
+                        "select count(*) from notifications where user_id = :userId and is_read = false")
+                .setParameter("userId", userId)
+                .getSingleResult()).longValue());
+    }
+}
@@ -0,0 +1,73 @@
+package org.acme.notifications.infrastructure.cache;
+
+import org.acme.notifications.infrastructure.transaction.AfterCommit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InMemoryUnreadCounterTest {
+
+    private final InMemoryUnreadCounter counter = new InMemoryUnreadCounter(new ImmediateAfterCommit(), 100);
+
+    @Test
+    void loadsOnceThenAppliesDeltas() {
+        assertEquals(3, counter.get(1L, () -> 3));
+        counter.add(1L, 2);
+        counter.add(1L, -1);
+
+        assertEquals(4, counter.get(1L, () -> {
+            throw new AssertionError("counter should not be reloaded");
+        }));
+    }
+
+    @Test
+    void neverGoesNegative() {
+        counter.get(1L, () -> 1);
+        counter.add(1L, -5);
+
+        assertEquals(0, counter.get(1L, () -> 0));
+    }
+
+    @Test
+    void ignoresDeltasForUntrackedUsers() {
+        counter.add(1L, 5);
+
+        assertEquals(2, counter.get(1L, () -> 2));
+    }
+
+    @Test
+    void reconcileResetsTrackedCounters() {
+        counter.get(1L, () -> 10);
+        counter.get(2L, () -> 4);
+
+        counter.reconcile(() -> Map.of(1L, 7L));
+
+        assertEquals(7, counter.get(1L, () -> 0));
+        assertEquals(0, counter.get(2L, () -> 0));
+    }
+
+    @Test
+    void reconcileKeepsIncrementsAppliedWhileCounting() {
+        counter.get(1L, () -> 1);
+        counter.get(2L, () -> 1);
+
+        counter.reconcile(() -> {
+            // A notification committed after the count query started
+            counter.add(1L, 1);
+            return Map.of(1L, 1L, 2L, 5L);
+        });
+
+        assertEquals(2, counter.get(1L, () -> 0));
+        assertEquals(5, counter.get(2L, () -> 0));
+    }
+
+    private static final class ImmediateAfterCommit extends AfterCommit {
+
+        @Override
+        public void run(Runnable action) {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.acme.notifications.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.acme.shared.messaging.EventCodec;
+import org.acme.shared.messaging.EventCodecs;
+import org.acme.shared.messaging.EventSchemaRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Events per second, and bytes allocated per event with the gc profiler, of reading an order-events record: a
+ * JsonNode tree, as the consumer used to, against the OrderEvent record read through the JSON codec.
+ * Run with {@code mvn -pl notifications_service -am -Pbenchmarks verify -Djmh.include=OrderEvent}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderEventConsumeBenchmark {
+
+    private ObjectMapper objectMapper;
+    private EventCodec<OrderEvent> codec;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        codec = new EventCodecs(objectMapper, new EventSchemaRegistry(Optional.empty())).json(OrderEvent.class);
+        payload = ("{\"eventType\":\"ORDER_CREATED\",\"orderId\":42,\"userId\":7,\"totalAmount\":\"129.90\","
+                + "\"itemCount\":3,\"timestamp\":1760000000000}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void tree(Blackhole blackhole) throws IOException {
+        // The String deserializer of the channel used to decode the record first
+        JsonNode event = objectMapper.readTree(new String(payload, StandardCharsets.UTF_8));
+        blackhole.consume(event.get("eventType").asText());
+        blackhole.consume(event.get("orderId").asLong());
+        blackhole.consume(event.get("userId").asLong());
+        blackhole.consume(event.has("totalAmount") ? event.get("totalAmount").asText() : "0");
+        blackhole.consume(event.has("itemCount") ? event.get("itemCount").asInt() : 0);
+    }
+
+    @Benchmark
+    public void record(Blackhole blackhole) throws IOException {
+        OrderEvent event = codec.decode(payload);
+        blackhole.consume(event.eventType());
+        blackhole.consume(event.orderId());
+        blackhole.consume(event.userId());
+        blackhole.consume(event.totalAmount() != null ? event.totalAmount() : "0");
+        blackhole.consume(event.itemCount() != null ? event.itemCount() : 0);
+    }
+}
@@ -0,0 +1,83 @@
+package org.acme.notifications.infrastructure.persistence;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.acme.notifications.HibernateStatisticsProfile;
+import org.acme.notifications.domain.model.IdAllocation;
+import org.acme.notifications.domain.model.Notification;
+import org.acme.notifications.domain.model.NotificationType;
+import org.acme.notifications.domain.repository.NotificationRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A consumer batch of {@value #NOTIFICATIONS} notifications must be inserted in JDBC batches of 50.
+ */
+@QuarkusTest
+@TestProfile(HibernateStatisticsProfile.class)
+class NotificationBatchInsertTest {
+
+    private static final Logger LOG = Logger.getLogger(NotificationBatchInsertTest.class);
+
+    static final int NOTIFICATIONS = 500;
+
+    @Inject
+    NotificationRepository notificationRepository;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Inject
+    DataSource dataSource;
+
+    @Test
+    void insertsNotificationsInBatches() {
+        List<Notification> notifications = LongStream.rangeClosed(1, NOTIFICATIONS)
+                .mapToObj(orderId -> Notification.create(20_001L, NotificationType.ORDER_CREATED, "Order created",
+                        "Order #" + orderId, orderId))
+                .toList();
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        long started = System.nanoTime();
+        QuarkusTransaction.requiringNew().run(() -> notificationRepository.persistAll(notifications));
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        LOG.infof("Inserted %d notifications with %d statements in %d ms",
+                NOTIFICATIONS, statistics.getPrepareStatementCount(), elapsedMs);
+
+        assertEquals(NOTIFICATIONS, statistics.getEntityInsertCount());
+        // Ten id blocks of 50 and ten batches of 50 inserts
+        assertTrue(statistics.getPrepareStatementCount() <= 2L * NOTIFICATIONS / 50,
+                () -> statistics.getPrepareStatementCount() + " statements for " + NOTIFICATIONS + " inserts");
+    }
+
+    @Test
+    void sequencesIncrementByTheEntityAllocationSize() throws SQLException {
+        String sql = "select increment_by from pg_sequences where sequencename = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (String sequence : List.of("notifications_seq")) {
+                statement.setString(1, sequence);
+                try (ResultSet rs = statement.executeQuery()) {
+                    assertTrue(rs.next(), sequence + " does not exist");
+                    assertEquals(IdAllocation.SIZE, rs.getLong(1), sequence);
+                }
+            }
+        }
+    }
+}
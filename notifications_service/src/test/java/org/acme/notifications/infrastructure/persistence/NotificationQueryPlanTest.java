@@ -0,0 +1,80 @@
+package org.acme.notifications.infrastructure.persistence;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the unread list, count and bulk mark-read stay on the partial {@code is_read = false} index, and the
+ * full list on {@code (user_id, created_at desc)}.
+ * <p>
+ * Runs against the empty Dev Services database, where a sequential scan always looks cheapest.
+ * </p>
+ */
+@QuarkusTest
+class NotificationQueryPlanTest {
+
+    @Inject
+    DataSource dataSource;
+
+    @Test
+    void listsAUsersNotificationsNewestFirst() throws SQLException {
+        assertUsesIndex("select * from notifications where user_id = 1 order by created_at desc",
+                "idx_notifications_user_created");
+    }
+
+    @Test
+    void listsUnreadNotificationsFromThePartialIndex() throws SQLException {
+        assertUsesIndex("select * from notifications where user_id = 1 and is_read = false order by created_at desc",
+                "idx_notifications_user_unread");
+    }
+
+    @Test
+    void countsUnreadNotificationsFromThePartialIndex() throws SQLException {
+        assertUsesIndex("select count(*) from notifications where user_id = 1 and is_read = false",
+                "idx_notifications_user_unread");
+    }
+
+    @Test
+    void marksNotificationsReadFromThePartialIndex() throws SQLException {
+        assertUsesIndex("update notifications set is_read = true "
+                + "where user_id = 1 and is_read = false and created_at <= now()", "idx_notifications_user_unread");
+    }
+
+    private void assertUsesIndex(String sql, String... indexes) throws SQLException {
+        String plan = explain(sql);
+        assertFalse(plan.contains("Seq Scan"), () -> "sequential scan for " + sql + "\n" + plan);
+        assertTrue(Arrays.stream(indexes).anyMatch(plan::contains),
+                () -> "none of " + Arrays.toString(indexes) + " used for " + sql + "\n" + plan);
+    }
+
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                // Only left in the plan when no index can serve the query
+                statement.execute("set local enable_seqscan = off");
+                StringJoiner plan = new StringJoiner("\n");
+                try (ResultSet rows = statement.executeQuery("explain " + sql)) {
+                    while (rows.next()) {
+                        plan.add(rows.getString(1));
+                    }
+                }
+                return plan.toString();
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+}
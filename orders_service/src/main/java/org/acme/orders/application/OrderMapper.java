@@ -16,13 +16,24 @@ public class OrderMapper {
         List<OrderItemResponse> items = order.getItems().stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
+        return toResponse(order, items);
+    }
+
+    /**
+     * Maps an order loaded with the summary fetch plan; the items collection is never touched.
+     */
+    public OrderResponse toSummaryResponse(Order order) {
+        return toResponse(order, null);
+    }
 
+    private OrderResponse toResponse(Order order, List<OrderItemResponse> items) {
         return new OrderResponse(
                 order.getId(),
                 order.getUserId(),
                 order.getTotalAmount().toBigDecimal(),
                 order.getStatus(),
                 items,
+                order.getItemCount(),
                 order.getCreatedAt(),
                 order.getUpdatedAt()
         );
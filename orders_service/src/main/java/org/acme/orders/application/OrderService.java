@@ -2,19 +2,29 @@ package org.acme.orders.application;
 
 import org.acme.orders.domain.model.OrderStatus;
 import org.acme.orders.application.dto.request.CreateOrderRequest;
+import org.acme.orders.application.dto.response.OrderPageResponse;
 import org.acme.orders.application.dto.response.OrderResponse;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface OrderService {
 
-    OrderResponse createOrder(Long userId, CreateOrderRequest request);
+    OrderResponse createOrder(Long userId, String idempotencyKey, CreateOrderRequest request);
 
-    List<OrderResponse> getUserOrders(Long userId);
+    OrderPageResponse getUserOrders(Long userId, String cursor, Integer size, boolean includeItems);
+
+    void exportUserOrders(Long userId, Consumer<OrderResponse> consumer);
 
     OrderResponse getOrderById(Long orderId, Long userId);
 
     OrderResponse updateOrderStatus(Long orderId, OrderStatus newStatus);
 
     void cancelOrder(Long orderId, Long userId);
+
+    /**
+     * Retries the stock reservation commits that failed when their order was created.
+     *
+     * @return the number of orders whose commit is now settled
+     */
+    int commitPendingStockReservations();
 }
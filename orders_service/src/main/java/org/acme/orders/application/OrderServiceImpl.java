@@ -1,39 +1,87 @@
 package org.acme.orders.application;
 
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.transaction.Transactional;
 import org.acme.orders.application.exception.OrderApplicationException;
 import org.acme.orders.application.port.out.ArticleDetails;
 import org.acme.orders.application.port.out.ArticlesCatalogPort;
+import org.acme.orders.application.port.out.IdempotentResponseCache;
+import org.acme.orders.application.port.out.IdempotentResponseCache.IdempotentResponse;
 import org.acme.orders.application.port.out.OrderEventPublisher;
+import org.acme.orders.application.port.out.StockReservationPort;
 import org.acme.orders.domain.event.OrderDomainEvent;
 import org.acme.orders.domain.exception.OrderDomainException;
 import org.acme.orders.domain.model.Order;
+import org.acme.orders.domain.model.OrderIdempotencyKey;
+import org.acme.orders.domain.model.OrderItem;
 import org.acme.orders.domain.model.OrderStatus;
+import org.acme.orders.domain.repository.OrderFetchPlan;
+import org.acme.orders.domain.repository.OrderIdempotencyKeyRepository;
 import org.acme.orders.domain.repository.OrderRepository;
 import org.acme.orders.domain.service.OrderDomainService;
 import org.acme.orders.application.dto.request.CreateOrderRequest;
 import org.acme.orders.application.dto.request.OrderItemRequest;
+import org.acme.orders.application.dto.response.OrderPageResponse;
 import org.acme.orders.application.dto.response.OrderResponse;
+import org.acme.orders.domain.value.OrderCursor;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.exception.ConstraintViolationException;
+import org.jboss.logging.Logger;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @ApplicationScoped
 public class OrderServiceImpl implements OrderService {
 
+    private static final Logger LOG = Logger.getLogger(OrderServiceImpl.class);
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int EXPORT_PAGE_SIZE = 200;
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
+    private static final int STOCK_COMMIT_BATCH_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final ArticlesCatalogPort articlesCatalogPort;
     private final OrderEventPublisher orderEventPublisher;
     private final OrderMapper orderMapper;
     private final OrderDomainService orderDomainService;
+    private final OrderIdempotencyKeyRepository idempotencyKeyRepository;
+    private final IdempotentResponseCache idempotentResponseCache;
+    private final StockReservationPort stockReservationPort;
+    private final Duration idempotencyKeyTtl;
+    private final Duration stockCommitRetryInterval;
 
     @Inject
     public OrderServiceImpl(OrderRepository orderRepository,
                             ArticlesCatalogPort articlesCatalogPort,
                             OrderEventPublisher orderEventPublisher,
                             OrderMapper orderMapper,
-                            OrderDomainService orderDomainService) {
+                            OrderDomainService orderDomainService,
+                            OrderIdempotencyKeyRepository idempotencyKeyRepository,
+                            IdempotentResponseCache idempotentResponseCache,
+                            StockReservationPort stockReservationPort,
+                            @ConfigProperty(name = "idempotency-keys.ttl", defaultValue = "24h") Duration idempotencyKeyTtl,
+                            @ConfigProperty(name = "stock-reservation.commit-retry-interval", defaultValue = "30s")
+                            Duration stockCommitRetryInterval) {
+        this.stockCommitRetryInterval = stockCommitRetryInterval;
+        this.stockReservationPort = stockReservationPort;
+        this.idempotencyKeyTtl = idempotencyKeyTtl;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.idempotentResponseCache = idempotentResponseCache;
         this.orderRepository = orderRepository;
         this.articlesCatalogPort = articlesCatalogPort;
         this.orderEventPublisher = orderEventPublisher;
@@ -41,83 +89,310 @@ public class OrderServiceImpl implements OrderService {
         this.orderDomainService = orderDomainService;
     }
 
-    @Transactional
     @Override
-    public OrderResponse createOrder(Long userId, CreateOrderRequest request) {
+    public OrderResponse createOrder(Long userId, String idempotencyKey, CreateOrderRequest request) {
         if (request.getItems() == null || request.getItems().isEmpty()) {
             throw new OrderApplicationException("Order must contain at least one item", 400);
         }
+        if (idempotencyKey == null) {
+            return placeOrder(userId, request, null, null);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new OrderApplicationException(
+                    "Idempotency-Key must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters", 400);
+        }
 
-        Order order = Order.create(userId);
-
-        for (OrderItemRequest itemRequest : request.getItems()) {
-            ArticleDetails article = articlesCatalogPort.findArticleById(itemRequest.getArticleId())
-                    .orElseThrow(() -> new OrderApplicationException(
-                            "Article with ID %d not found".formatted(itemRequest.getArticleId()), 404));
-            try {
-                orderDomainService.addItem(order, article, itemRequest.getQuantity());
-            } catch (OrderDomainException ex) {
-                throw new OrderApplicationException(ex.getMessage(), 400);
+        String requestHash = fingerprint(request.getItems());
+        Optional<OrderResponse> replay = findReplay(userId, idempotencyKey, requestHash);
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+        try {
+            return placeOrder(userId, request, idempotencyKey, requestHash);
+        } catch (RuntimeException ex) {
+            if (!isDuplicateIdempotencyKey(ex)) {
+                throw ex;
             }
+            // A concurrent retry with the same key committed first
+            return findReplay(userId, idempotencyKey, requestHash).orElseThrow(() -> ex);
         }
+    }
 
-        orderRepository.persist(order);
-        orderDomainService.registerCreationEvent(order);
-        publishDomainEvents(order);
+    private OrderResponse placeOrder(Long userId, CreateOrderRequest request, String idempotencyKey, String requestHash) {
+        // Remote enrichment runs outside any transaction so no JDBC connection is held during the fan-out
+        Order order = buildOrder(userId, request.getItems());
 
-        return orderMapper.toResponse(order);
+        // The catalog snapshot only pre-checks stock; the articles service decrements it atomically here
+        String reservationId = stockReservationPort.reserve(reservedQuantities(order));
+        order.setStockReservationId(reservationId);
+        try {
+            QuarkusTransaction.joiningExisting().run(() -> {
+                orderRepository.persist(order);
+                if (idempotencyKey != null) {
+                    idempotencyKeyRepository.persist(
+                            OrderIdempotencyKey.create(userId, idempotencyKey, requestHash, order.getId(), idempotencyKeyTtl));
+                }
+                orderDomainService.registerCreationEvent(order);
+                publishDomainEvents(order);
+            });
+        } catch (RuntimeException ex) {
+            releaseStock(reservationId);
+            throw ex;
+        }
+        // The order is stored with a pending commit, so a failure here is retried by commitPendingStockReservations
+        // before the reservation can expire and give the stock back
+        commitStock(order);
+
+        OrderResponse response = orderMapper.toResponse(order);
+        if (idempotencyKey != null) {
+            idempotentResponseCache.put(userId, idempotencyKey, new IdempotentResponse(requestHash, response));
+        }
+        return response;
     }
 
-    @Override
-    public List<OrderResponse> getUserOrders(Long userId) {
-        return orderRepository.findByUserId(userId).stream()
+    private Optional<OrderResponse> findReplay(Long userId, String idempotencyKey, String requestHash) {
+        Optional<IdempotentResponse> stored = idempotentResponseCache.get(userId, idempotencyKey);
+        if (stored.isEmpty()) {
+            stored = idempotencyKeyRepository.findByUserIdAndKey(userId, idempotencyKey)
+                    .map(key -> new IdempotentResponse(key.getRequestHash(), loadStoredOrder(key.getOrderId())));
+            stored.ifPresent(response -> idempotentResponseCache.put(userId, idempotencyKey, response));
+        }
+        return stored.map(response -> {
+            if (!response.requestHash().equals(requestHash)) {
+                throw new OrderApplicationException("Idempotency-Key was already used for a different order", 422);
+            }
+            return response.order();
+        });
+    }
+
+    private OrderResponse loadStoredOrder(Long orderId) {
+        return orderRepository.findOptionalById(orderId, OrderFetchPlan.FULL)
                 .map(orderMapper::toResponse)
+                .orElseThrow(() -> new OrderApplicationException("Order not found", 404));
+    }
+
+    private static String fingerprint(List<OrderItemRequest> items) {
+        // Lines are sorted so a retry that lists the same items in another order still matches
+        List<OrderItemRequest> sorted = items.stream()
+                .sorted(Comparator.comparing(OrderItemRequest::getArticleId)
+                        .thenComparing(OrderItemRequest::getQuantity))
                 .toList();
+        StringBuilder canonical = new StringBuilder();
+        for (OrderItemRequest item : sorted) {
+            canonical.append(item.getArticleId()).append('x').append(item.getQuantity()).append(';');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static boolean isDuplicateIdempotencyKey(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && OrderIdempotencyKey.UNIQUE_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public OrderPageResponse getUserOrders(Long userId, String cursor, Integer size, boolean includeItems) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new OrderApplicationException("Page size must be between 1 and " + MAX_PAGE_SIZE, 400);
+        }
+
+        OrderFetchPlan plan = includeItems ? OrderFetchPlan.FULL : OrderFetchPlan.SUMMARY;
+        List<Order> orders = orderRepository.findPageByUserId(userId, decodeCursor(cursor), pageSize + 1, plan);
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            nextCursor = encodeCursor(orders.get(pageSize - 1));
+        }
+        Function<Order, OrderResponse> mapper = includeItems ? orderMapper::toResponse : orderMapper::toSummaryResponse;
+        List<OrderResponse> items = orders.stream()
+                .map(mapper)
+                .toList();
+        return new OrderPageResponse(items, nextCursor);
+    }
+
+    @Override
+    public void exportUserOrders(Long userId, Consumer<OrderResponse> consumer) {
+        OrderCursor after = null;
+        while (true) {
+            OrderCursor current = after;
+            // One short transaction per page so the persistence context never holds more than a page
+            List<OrderResponse> page = QuarkusTransaction.requiringNew().call(() ->
+                    orderRepository.findPageByUserId(userId, current, EXPORT_PAGE_SIZE, OrderFetchPlan.FULL).stream()
+                            .map(orderMapper::toResponse)
+                            .toList());
+            page.forEach(consumer);
+            if (page.size() < EXPORT_PAGE_SIZE) {
+                return;
+            }
+            OrderResponse last = page.get(page.size() - 1);
+            after = new OrderCursor(last.getCreatedAt(), last.getId());
+        }
+    }
+
+    private OrderCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            return new OrderCursor(
+                    Instant.ofEpochSecond(0, Long.parseLong(decoded.substring(0, separator))),
+                    Long.valueOf(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new OrderApplicationException("Invalid cursor", 400);
+        }
+    }
+
+    private String encodeCursor(Order order) {
+        Instant createdAt = order.getCreatedAt();
+        long epochNanos = createdAt.getEpochSecond() * 1_000_000_000L + createdAt.getNano();
+        String raw = epochNanos + ":" + order.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
     }
 
     @Override
     public OrderResponse getOrderById(Long orderId, Long userId) {
-        Order order = orderRepository.findByIdAndUserId(orderId, userId)
+        Order order = orderRepository.findByIdAndUserId(orderId, userId, OrderFetchPlan.FULL)
                 .orElseThrow(() -> new OrderApplicationException("Order not found", 404));
         return orderMapper.toResponse(order);
     }
 
-    @Transactional
     @Override
     public OrderResponse updateOrderStatus(Long orderId, OrderStatus newStatus) {
-        Order order = orderRepository.findOptionalById(orderId)
-                .orElseThrow(() -> new OrderApplicationException("Order not found", 404));
+        Order order = QuarkusTransaction.joiningExisting().call(() -> {
+            // The response lists the items, so they are fetched with the order rather than after the commit
+            Order loaded = orderRepository.findOptionalById(orderId, OrderFetchPlan.FULL)
+                    .orElseThrow(() -> new OrderApplicationException("Order not found", 404));
 
-        try {
-            if (newStatus == OrderStatus.CANCELLED) {
-                orderDomainService.cancelOrder(order, "Cancelled by admin");
-            } else {
-                orderDomainService.changeStatus(order, newStatus);
+            try {
+                if (newStatus == OrderStatus.CANCELLED) {
+                    orderDomainService.cancelOrder(loaded, "Cancelled by admin");
+                } else {
+                    orderDomainService.changeStatus(loaded, newStatus);
+                }
+            } catch (OrderDomainException ex) {
+                throw new OrderApplicationException(ex.getMessage(), 400);
             }
-        } catch (OrderDomainException ex) {
-            throw new OrderApplicationException(ex.getMessage(), 400);
-        }
 
-        orderRepository.persist(order);
-        publishDomainEvents(order);
+            orderRepository.persist(loaded);
+            publishDomainEvents(loaded);
+            return loaded;
+        });
 
+        if (newStatus == OrderStatus.CANCELLED) {
+            releaseStock(order.getStockReservationId());
+        }
         return orderMapper.toResponse(order);
     }
 
-    @Transactional
     @Override
     public void cancelOrder(Long orderId, Long userId) {
-        Order order = orderRepository.findByIdAndUserId(orderId, userId)
-                .orElseThrow(() -> new OrderApplicationException("Order not found", 404));
+        Order order = QuarkusTransaction.joiningExisting().call(() -> {
+            Order loaded = orderRepository.findByIdAndUserId(orderId, userId, OrderFetchPlan.SUMMARY)
+                    .orElseThrow(() -> new OrderApplicationException("Order not found", 404));
+
+            try {
+                orderDomainService.cancelOrder(loaded, "Cancelled by user");
+            } catch (OrderDomainException ex) {
+                throw new OrderApplicationException(ex.getMessage(), 400);
+            }
+
+            orderRepository.persist(loaded);
+            publishDomainEvents(loaded);
+            return loaded;
+        });
+
+        releaseStock(order.getStockReservationId());
+    }
+
+    @Override
+    public int commitPendingStockReservations() {
+        List<Order> pending = QuarkusTransaction.requiringNew().call(() -> orderRepository.findPendingStockCommits(
+                Instant.now().minus(stockCommitRetryInterval), STOCK_COMMIT_BATCH_SIZE));
+        int settled = 0;
+        for (Order order : pending) {
+            if (commitStock(order)) {
+                settled++;
+            }
+        }
+        return settled;
+    }
 
+    private boolean commitStock(Order order) {
+        String reservationId = order.getStockReservationId();
         try {
-            orderDomainService.cancelOrder(order, "Cancelled by user");
-        } catch (OrderDomainException ex) {
-            throw new OrderApplicationException(ex.getMessage(), 400);
+            stockReservationPort.commit(reservationId);
+        } catch (OrderApplicationException ex) {
+            if (ex.getStatusCode() != 404 && ex.getStatusCode() != 409) {
+                LOG.warnf("Stock reservation %s for order %d not committed, will retry: %s",
+                        reservationId, order.getId(), ex.getMessage());
+                return false;
+            }
+            // Expired or unknown: retrying cannot succeed and the stock has to be reconciled by hand
+            LOG.errorf("Stock reservation %s for order %d can no longer be committed: %s",
+                    reservationId, order.getId(), ex.getMessage());
+        } catch (RuntimeException ex) {
+            LOG.warnf("Stock reservation %s for order %d not committed, will retry: %s",
+                    reservationId, order.getId(), ex.getMessage());
+            return false;
+        }
+        QuarkusTransaction.requiringNew().run(() -> orderRepository.clearStockCommitPending(order.getId()));
+        return true;
+    }
+
+    private static Map<Long, Integer> reservedQuantities(Order order) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItem item : order.getItems()) {
+            quantities.merge(item.getArticleId(), item.getQuantity(), Integer::sum);
         }
+        return quantities;
+    }
 
-        orderRepository.persist(order);
-        publishDomainEvents(order);
+    private void releaseStock(String reservationId) {
+        // Orders created before reservations existed have nothing to give back
+        if (reservationId == null) {
+            return;
+        }
+        try {
+            stockReservationPort.release(reservationId);
+        } catch (RuntimeException ex) {
+            LOG.errorf(ex, "Failed to release stock reservation %s", reservationId);
+        }
+    }
+
+    private Order buildOrder(Long userId, List<OrderItemRequest> itemRequests) {
+        List<Long> articleIds = itemRequests.stream()
+                .map(OrderItemRequest::getArticleId)
+                .distinct()
+                .toList();
+        Map<Long, ArticleDetails> articles = articlesCatalogPort.findArticlesByIds(articleIds);
+
+        Order order = Order.create(userId);
+        for (OrderItemRequest itemRequest : itemRequests) {
+            ArticleDetails article = articles.get(itemRequest.getArticleId());
+            if (article == null) {
+                throw new OrderApplicationException(
+                        "Article with ID %d not found".formatted(itemRequest.getArticleId()), 404);
+            }
+            try {
+                orderDomainService.addItem(order, article, itemRequest.getQuantity());
+            } catch (OrderDomainException ex) {
+                throw new OrderApplicationException(ex.getMessage(), 400);
+            }
+        }
+        return order;
     }
 
     private void publishDomainEvents(Order order) {
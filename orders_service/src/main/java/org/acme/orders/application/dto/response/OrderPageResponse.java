@@ -0,0 +1,33 @@
+package org.acme.orders.application.dto.response;
+
+import java.util.List;
+
+public class OrderPageResponse {
+
+    private List<OrderResponse> items;
+    private String nextCursor;
+
+    public OrderPageResponse() {
+    }
+
+    public OrderPageResponse(List<OrderResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<OrderResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<OrderResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -12,6 +12,7 @@ public class OrderResponse {
     private BigDecimal totalAmount;
     private OrderStatus status;
     private List<OrderItemResponse> items;
+    private int itemCount;
     private Instant createdAt;
     private Instant updatedAt;
 
@@ -20,12 +21,13 @@ public class OrderResponse {
     }
 
     public OrderResponse(Long id, Long userId, BigDecimal totalAmount, OrderStatus status,
-                        List<OrderItemResponse> items, Instant createdAt, Instant updatedAt) {
+                        List<OrderItemResponse> items, int itemCount, Instant createdAt, Instant updatedAt) {
         this.id = id;
         this.userId = userId;
         this.totalAmount = totalAmount;
         this.status = status;
         this.items = items;
+        this.itemCount = itemCount;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
     }
@@ -71,6 +73,14 @@ public class OrderResponse {
         this.items = items;
     }
 
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(int itemCount) {
+        this.itemCount = itemCount;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -1,8 +1,12 @@
 package org.acme.orders.application.port.out;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ArticlesCatalogPort {
 
     Optional<ArticleDetails> findArticleById(Long articleId);
+
+    Map<Long, ArticleDetails> findArticlesByIds(Collection<Long> articleIds);
 }
@@ -0,0 +1,15 @@
+package org.acme.orders.application.port.out;
+
+import org.acme.orders.application.dto.response.OrderResponse;
+
+import java.util.Optional;
+
+public interface IdempotentResponseCache {
+
+    Optional<IdempotentResponse> get(Long userId, String idempotencyKey);
+
+    void put(Long userId, String idempotencyKey, IdempotentResponse response);
+
+    record IdempotentResponse(String requestHash, OrderResponse order) {
+    }
+}
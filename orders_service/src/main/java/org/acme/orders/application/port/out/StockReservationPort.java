@@ -0,0 +1,17 @@
+package org.acme.orders.application.port.out;
+
+import java.util.Map;
+
+public interface StockReservationPort {
+
+    /**
+     * Atomically reserves the given quantities (article id to quantity) in the articles service.
+     *
+     * @return the reservation id, to be committed once the order is stored or released otherwise
+     */
+    String reserve(Map<Long, Integer> quantities);
+
+    void commit(String reservationId);
+
+    void release(String reservationId);
+}
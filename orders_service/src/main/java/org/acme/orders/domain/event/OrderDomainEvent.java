@@ -21,7 +21,7 @@ public record OrderDomainEvent(
                 order.getId(),
                 order.getUserId(),
                 order.getTotalAmount(),
-                order.getItems().size(),
+                order.getItemCount(),
                 null,
                 Instant.now());
     }
@@ -44,7 +44,7 @@ public record OrderDomainEvent(
                 order.getId(),
                 order.getUserId(),
                 order.getTotalAmount(),
-                order.getItems().size(),
+                order.getItemCount(),
                 reason,
                 Instant.now());
     }
@@ -55,7 +55,7 @@ public record OrderDomainEvent(
                 order.getId(),
                 order.getUserId(),
                 order.getTotalAmount(),
-                order.getItems().size(),
+                order.getItemCount(),
                 null,
                 Instant.now());
     }
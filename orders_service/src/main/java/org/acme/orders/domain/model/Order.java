@@ -12,9 +12,13 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import jakarta.validation.constraints.NotNull;
@@ -30,10 +34,18 @@ import org.acme.orders.domain.value.Money;
 
 @Entity
 @Table(name = "orders")
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Order.SUMMARY_GRAPH),
+        @NamedEntityGraph(name = Order.FULL_GRAPH, attributeNodes = @NamedAttributeNode("items"))
+})
 public class Order {
 
+    public static final String SUMMARY_GRAPH = "Order.summary";
+    public static final String FULL_GRAPH = "Order.full";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = IdAllocation.SIZE)
     private Long id;
 
     @NotNull(message = "User ID is required")
@@ -50,9 +62,20 @@ public class Order {
     @Column(nullable = false, length = 16)
     private OrderStatus status = OrderStatus.PENDING;
 
-    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<OrderItem> items = new ArrayList<>();
 
+    // Denormalized so that status transitions can publish events without loading the items
+    @Column(name = "item_count")
+    private Integer itemCount = 0;
+
+    @Column(name = "stock_reservation_id", length = 36)
+    private String stockReservationId;
+
+    // Set until articles_service acknowledged the commit, so a failed commit is retried instead of expiring
+    @Column(name = "stock_commit_pending", nullable = false)
+    private boolean stockCommitPending;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -98,6 +121,7 @@ public class Order {
         Objects.requireNonNull(item, "item");
         item.setOrder(this);
         items.add(item);
+        itemCount = items.size();
         recalculateTotal();
     }
 
@@ -193,6 +217,25 @@ public class Order {
 
     public void setItems(List<OrderItem> items) {
         this.items = items;
+        this.itemCount = items.size();
+    }
+
+    public int getItemCount() {
+        // Rows written before the column existed fall back to the collection
+        return itemCount != null ? itemCount : items.size();
+    }
+
+    public String getStockReservationId() {
+        return stockReservationId;
+    }
+
+    public void setStockReservationId(String stockReservationId) {
+        this.stockReservationId = stockReservationId;
+        this.stockCommitPending = stockReservationId != null;
+    }
+
+    public boolean isStockCommitPending() {
+        return stockCommitPending;
     }
 
     public Instant getCreatedAt() {
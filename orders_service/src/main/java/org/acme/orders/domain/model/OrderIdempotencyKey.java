@@ -0,0 +1,94 @@
+package org.acme.orders.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+@Entity
+@Table(name = "order_idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(name = OrderIdempotencyKey.UNIQUE_CONSTRAINT, columnNames = {"user_id", "idempotency_key"}),
+        indexes = {
+                @Index(name = "idx_order_idempotency_created_at", columnList = "created_at"),
+                @Index(name = "idx_order_idempotency_expires_at", columnList = "expires_at")
+        })
+public class OrderIdempotencyKey {
+
+    public static final String UNIQUE_CONSTRAINT = "uk_order_idempotency_user_key";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_idempotency_keys_seq")
+    @SequenceGenerator(name = "order_idempotency_keys_seq", sequenceName = "order_idempotency_keys_seq", allocationSize = IdAllocation.SIZE)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "idempotency_key", nullable = false, length = 128)
+    private String key;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private Instant expiresAt;
+
+    public static OrderIdempotencyKey create(Long userId, String key, String requestHash, Long orderId, Duration ttl) {
+        Objects.requireNonNull(userId, "userId");
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(requestHash, "requestHash");
+        Objects.requireNonNull(orderId, "orderId");
+        Objects.requireNonNull(ttl, "ttl");
+        OrderIdempotencyKey idempotencyKey = new OrderIdempotencyKey();
+        idempotencyKey.userId = userId;
+        idempotencyKey.key = key;
+        idempotencyKey.requestHash = requestHash;
+        idempotencyKey.orderId = orderId;
+        idempotencyKey.createdAt = Instant.now();
+        idempotencyKey.expiresAt = idempotencyKey.createdAt.plus(ttl);
+        return idempotencyKey;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,10 @@
+package org.acme.orders.domain.repository;
+
+public enum OrderFetchPlan {
+
+    /** Order columns only, items stay unloaded. */
+    SUMMARY,
+
+    /** Order with its items join-fetched. */
+    FULL
+}
@@ -0,0 +1,21 @@
+package org.acme.orders.domain.repository;
+
+import org.acme.orders.domain.model.OrderIdempotencyKey;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface OrderIdempotencyKeyRepository {
+
+    /**
+     * Inserts the key and flushes immediately so a concurrent duplicate fails inside the current transaction.
+     */
+    void persist(OrderIdempotencyKey idempotencyKey);
+
+    Optional<OrderIdempotencyKey> findByUserIdAndKey(Long userId, String key);
+
+    /**
+     * Deletes the keys whose retention window ended before {@code now} and returns how many were removed.
+     */
+    int deleteExpired(Instant now);
+}
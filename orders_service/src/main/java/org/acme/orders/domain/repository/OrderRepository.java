@@ -2,7 +2,9 @@ package org.acme.orders.domain.repository;
 
 import org.acme.orders.domain.model.Order;
 import org.acme.orders.domain.model.OrderStatus;
+import org.acme.orders.domain.value.OrderCursor;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,11 +12,19 @@ public interface OrderRepository {
 
     void persist(Order order);
 
-    Optional<Order> findByIdAndUserId(Long id, Long userId);
+    Optional<Order> findByIdAndUserId(Long id, Long userId, OrderFetchPlan plan);
 
-    Optional<Order> findOptionalById(Long id);
+    Optional<Order> findOptionalById(Long id, OrderFetchPlan plan);
 
-    List<Order> findByUserId(Long userId);
+    List<Order> findPageByUserId(Long userId, OrderCursor after, int limit, OrderFetchPlan plan);
 
     List<Order> findByUserIdAndStatus(Long userId, OrderStatus status);
+
+    /**
+     * Orders created before {@code createdBefore} whose stock reservation commit was never acknowledged,
+     * cancelled orders excluded since their reservation is released instead.
+     */
+    List<Order> findPendingStockCommits(Instant createdBefore, int limit);
+
+    void clearStockCommitPending(Long orderId);
 }
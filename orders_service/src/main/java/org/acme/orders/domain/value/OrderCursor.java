@@ -0,0 +1,15 @@
+package org.acme.orders.domain.value;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Keyset position in a user's order history, ordered by {@code created_at desc, id desc}.
+ */
+public record OrderCursor(Instant createdAt, Long id) {
+
+    public OrderCursor {
+        Objects.requireNonNull(createdAt, "createdAt");
+        Objects.requireNonNull(id, "id");
+    }
+}
@@ -0,0 +1,45 @@
+package org.acme.orders.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.orders.application.port.out.IdempotentResponseCache;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@ApplicationScoped
+public class CaffeineIdempotentResponseCache implements IdempotentResponseCache {
+
+    private final Cache<String, IdempotentResponse> cache;
+
+    @Inject
+    public CaffeineIdempotentResponseCache(MeterRegistry meterRegistry,
+                                           @ConfigProperty(name = "idempotency-cache.max-size", defaultValue = "10000") long maxSize,
+                                           @ConfigProperty(name = "idempotency-cache.ttl", defaultValue = "1h") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "order-idempotency");
+    }
+
+    @Override
+    public Optional<IdempotentResponse> get(Long userId, String idempotencyKey) {
+        return Optional.ofNullable(cache.getIfPresent(cacheKey(userId, idempotencyKey)));
+    }
+
+    @Override
+    public void put(Long userId, String idempotencyKey, IdempotentResponse response) {
+        cache.put(cacheKey(userId, idempotencyKey), response);
+    }
+
+    private static String cacheKey(Long userId, String idempotencyKey) {
+        return userId + ":" + idempotencyKey;
+    }
+}
@@ -6,27 +6,68 @@ import jakarta.ws.rs.NotFoundException;
 import org.acme.orders.application.port.out.ArticleDetails;
 import org.acme.orders.application.port.out.ArticlesCatalogPort;
 import org.acme.orders.infrastructure.external.dto.ArticleDto;
-import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.acme.shared.loadbalancing.BalancedClient;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class ArticlesCatalogRestAdapter implements ArticlesCatalogPort {
 
-    private final ArticlesServiceClient articlesServiceClient;
+    private static final int MAX_IDS_PER_CALL = 100;
+
+    private final BalancedClient<ArticlesServiceClient> articlesServiceClient;
 
     @Inject
-    public ArticlesCatalogRestAdapter(@RestClient ArticlesServiceClient articlesServiceClient) {
+    public ArticlesCatalogRestAdapter(BalancedClient<ArticlesServiceClient> articlesServiceClient) {
         this.articlesServiceClient = articlesServiceClient;
     }
 
     @Override
     public Optional<ArticleDetails> findArticleById(Long articleId) {
         try {
-            ArticleDto dto = articlesServiceClient.getArticleById(articleId);
-            return Optional.of(new ArticleDetails(dto.getId(), dto.getName(), dto.getPrice(), dto.getStock()));
+            ArticleDto dto = articlesServiceClient.call(client -> client.getArticleById(articleId));
+            return Optional.of(toDetails(dto));
         } catch (NotFoundException notFoundException) {
             return Optional.empty();
         }
     }
+
+    @Override
+    public Map<Long, ArticleDetails> findArticlesByIds(Collection<Long> articleIds) {
+        if (articleIds.isEmpty()) {
+            return Map.of();
+        }
+        // Carts larger than one batch are split and the chunks are fetched concurrently
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(articleIds));
+        List<CompletableFuture<List<ArticleDto>>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_CALL) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_CALL, ids.size()));
+            chunks.add(articlesServiceClient.callAsync(client -> client.getArticlesByIds(chunk)).toCompletableFuture());
+        }
+        try {
+            return chunks.stream()
+                    .map(CompletableFuture::join)
+                    .flatMap(List::stream)
+                    .map(ArticlesCatalogRestAdapter::toDetails)
+                    .collect(Collectors.toMap(ArticleDetails::id, Function.identity(), (first, second) -> first));
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static ArticleDetails toDetails(ArticleDto dto) {
+        return new ArticleDetails(dto.getId(), dto.getName(), dto.getPrice(), dto.getStock());
+    }
 }
@@ -4,16 +4,26 @@ import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import org.acme.orders.infrastructure.external.dto.ArticleDto;
-import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Built per instance by {@link ArticlesServiceClientProducer}; inject {@code BalancedClient<ArticlesServiceClient>}.
+ */
 @Path("/api/articles")
-@RegisterRestClient(configKey = "articles-service")
 @Produces(MediaType.APPLICATION_JSON)
 public interface ArticlesServiceClient {
 
     @GET
     @Path("/{id}")
     ArticleDto getArticleById(@PathParam("id") Long id);
+
+    @GET
+    @Path("/batch")
+    CompletionStage<List<ArticleDto>> getArticlesByIds(@QueryParam("ids") Collection<Long> ids);
 }
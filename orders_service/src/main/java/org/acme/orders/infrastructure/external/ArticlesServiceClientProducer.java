@@ -0,0 +1,73 @@
+package org.acme.orders.infrastructure.external;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+import org.acme.shared.loadbalancing.BalancedClient;
+import org.acme.shared.loadbalancing.LoadBalancer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.RestClientBuilder;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds one {@link ArticlesServiceClient} and one {@link StockReservationClient} per articles_service instance
+ * listed in {@code articles-service.url} (comma-separated), balanced client-side.
+ */
+@ApplicationScoped
+public class ArticlesServiceClientProducer {
+
+    private static final Logger LOG = Logger.getLogger(ArticlesServiceClientProducer.class);
+
+    @ConfigProperty(name = "articles-service.url")
+    String urls;
+
+    @ConfigProperty(name = "articles-service.connect-timeout", defaultValue = "5s")
+    Duration connectTimeout;
+
+    @ConfigProperty(name = "articles-service.read-timeout", defaultValue = "10s")
+    Duration readTimeout;
+
+    @ConfigProperty(name = "articles-service.ejection-threshold", defaultValue = "5")
+    int ejectionThreshold;
+
+    @ConfigProperty(name = "articles-service.ejection-duration", defaultValue = "30s")
+    Duration ejectionDuration;
+
+    private LoadBalancer loadBalancer;
+
+    @Produces
+    @Singleton
+    BalancedClient<ArticlesServiceClient> articlesServiceClient(MeterRegistry meterRegistry) {
+        return balancedClient(ArticlesServiceClient.class, meterRegistry);
+    }
+
+    @Produces
+    @Singleton
+    BalancedClient<StockReservationClient> stockReservationClient(MeterRegistry meterRegistry) {
+        return balancedClient(StockReservationClient.class, meterRegistry);
+    }
+
+    private <T> BalancedClient<T> balancedClient(Class<T> clientType, MeterRegistry meterRegistry) {
+        return new BalancedClient<>(loadBalancer(meterRegistry), baseUrl -> {
+            LOG.infov("Configuring {0} with base URL {1}", clientType.getSimpleName(), baseUrl);
+            return RestClientBuilder.newBuilder()
+                    .baseUrl(baseUrl)
+                    .connectTimeout(connectTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .readTimeout(readTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .build(clientType);
+        });
+    }
+
+    // Both clients target the same instances, so they share one balancer and its ejection state
+    private synchronized LoadBalancer loadBalancer(MeterRegistry meterRegistry) {
+        if (loadBalancer == null) {
+            loadBalancer = LoadBalancer.of("articles", urls, ejectionThreshold, ejectionDuration, meterRegistry,
+                    "downstream");
+        }
+        return loadBalancer;
+    }
+}
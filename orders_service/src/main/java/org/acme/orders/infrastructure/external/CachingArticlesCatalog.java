@@ -0,0 +1,122 @@
+package org.acme.orders.infrastructure.external;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+import org.acme.orders.application.port.out.ArticleDetails;
+import org.acme.orders.application.port.out.ArticlesCatalogPort;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Read-through cache in front of {@link ArticlesCatalogRestAdapter}.
+ * <p>
+ * Entries are kept fresh by {@code article.events}: stock changes are applied in place, updates and
+ * deletions evict the entry so the next lookup goes back to articles_service.
+ * </p>
+ * <p>
+ * Each event bumps an invalidation generation for its article, and a loaded article is only stored if the
+ * generation did not move while the REST call was in flight; otherwise the load may predate the event and
+ * would keep a stale name, price or stock until the TTL.
+ * </p>
+ */
+@ApplicationScoped
+@Alternative
+@Priority(1)
+public class CachingArticlesCatalog implements ArticlesCatalogPort {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final ArticlesCatalogRestAdapter delegate;
+    private final Cache<Long, ArticleDetails> cache;
+    // Striped by article id so the guard stays bounded; a collision only skips a store, never keeps a stale one
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @Inject
+    public CachingArticlesCatalog(ArticlesCatalogRestAdapter delegate,
+                                  MeterRegistry meterRegistry,
+                                  @ConfigProperty(name = "articles-cache.max-size", defaultValue = "10000") long maxSize,
+                                  @ConfigProperty(name = "articles-cache.ttl", defaultValue = "5m") Duration ttl) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "article-catalog");
+    }
+
+    @Override
+    public Optional<ArticleDetails> findArticleById(Long articleId) {
+        ArticleDetails cached = cache.getIfPresent(articleId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long generation = generation(articleId);
+        Optional<ArticleDetails> loaded = delegate.findArticleById(articleId);
+        loaded.ifPresent(article -> store(articleId, article, generation));
+        return loaded;
+    }
+
+    @Override
+    public Map<Long, ArticleDetails> findArticlesByIds(Collection<Long> articleIds) {
+        Set<Long> requested = new LinkedHashSet<>(articleIds);
+        Map<Long, ArticleDetails> result = new HashMap<>(cache.getAllPresent(requested));
+        requested.removeAll(result.keySet());
+        if (!requested.isEmpty()) {
+            Map<Long, Long> generations = new HashMap<>();
+            requested.forEach(articleId -> generations.put(articleId, generation(articleId)));
+            Map<Long, ArticleDetails> loaded = delegate.findArticlesByIds(requested);
+            loaded.forEach((articleId, article) -> store(articleId, article, generations.get(articleId)));
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    public void updateStock(Long articleId, int stock) {
+        cache.asMap().compute(articleId, (id, article) -> {
+            invalidate(id);
+            return article == null ? null : new ArticleDetails(article.id(), article.name(), article.price(), stock);
+        });
+    }
+
+    public void evict(Long articleId) {
+        cache.asMap().compute(articleId, (id, article) -> {
+            invalidate(id);
+            return null;
+        });
+    }
+
+    /**
+     * Runs under the entry lock, like {@link #invalidate}, so an event cannot slip between the check and the store.
+     */
+    private void store(Long articleId, ArticleDetails article, Long generation) {
+        cache.asMap().compute(articleId,
+                (id, current) -> generation != null && generation == generation(id) ? article : current);
+    }
+
+    private long generation(Long articleId) {
+        return generations.get(stripe(articleId));
+    }
+
+    private void invalidate(Long articleId) {
+        generations.incrementAndGet(stripe(articleId));
+    }
+
+    private static int stripe(Long articleId) {
+        return Long.hashCode(articleId) & (GENERATION_STRIPES - 1);
+    }
+}
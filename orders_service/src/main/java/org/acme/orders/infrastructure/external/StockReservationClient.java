@@ -0,0 +1,34 @@
+package org.acme.orders.infrastructure.external;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.acme.orders.infrastructure.external.dto.StockReservationDto;
+import org.acme.orders.infrastructure.external.dto.StockReservationRequestDto;
+import org.acme.orders.infrastructure.security.ServiceTokenHeadersFactory;
+import org.eclipse.microprofile.rest.client.annotation.RegisterClientHeaders;
+
+/**
+ * Stock reservation API of articles_service, restricted to the SERVICE role: calls carry the orders service
+ * token rather than the end user's. Built per instance by {@link ArticlesServiceClientProducer}.
+ */
+@Path("/api/articles/stock/reservations")
+@RegisterClientHeaders(ServiceTokenHeadersFactory.class)
+@Produces(MediaType.APPLICATION_JSON)
+public interface StockReservationClient {
+
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    StockReservationDto reserve(StockReservationRequestDto request);
+
+    @POST
+    @Path("/{reservationId}/commit")
+    StockReservationDto commit(@PathParam("reservationId") String reservationId);
+
+    @POST
+    @Path("/{reservationId}/release")
+    StockReservationDto release(@PathParam("reservationId") String reservationId);
+}
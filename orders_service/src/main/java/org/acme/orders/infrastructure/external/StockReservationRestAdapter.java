@@ -0,0 +1,57 @@
+package org.acme.orders.infrastructure.external;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import org.acme.orders.application.exception.OrderApplicationException;
+import org.acme.orders.application.port.out.StockReservationPort;
+import org.acme.orders.infrastructure.external.dto.StockReservationRequestDto;
+import org.acme.shared.loadbalancing.BalancedClient;
+
+import java.util.List;
+import java.util.Map;
+
+@ApplicationScoped
+public class StockReservationRestAdapter implements StockReservationPort {
+
+    private final BalancedClient<StockReservationClient> stockReservationClient;
+
+    @Inject
+    public StockReservationRestAdapter(BalancedClient<StockReservationClient> stockReservationClient) {
+        this.stockReservationClient = stockReservationClient;
+    }
+
+    @Override
+    public String reserve(Map<Long, Integer> quantities) {
+        List<StockReservationRequestDto.Line> lines = quantities.entrySet().stream()
+                .map(entry -> new StockReservationRequestDto.Line(entry.getKey(), entry.getValue()))
+                .toList();
+        try {
+            return stockReservationClient.call(client -> client.reserve(new StockReservationRequestDto(lines))).getId();
+        } catch (WebApplicationException ex) {
+            int status = ex.getResponse().getStatus();
+            if (status == 409) {
+                throw new OrderApplicationException("Insufficient stock for one or more articles", 409);
+            }
+            throw new OrderApplicationException("Stock reservation failed with status " + status, 502);
+        }
+    }
+
+    @Override
+    public void commit(String reservationId) {
+        try {
+            stockReservationClient.call(client -> client.commit(reservationId));
+        } catch (WebApplicationException ex) {
+            int status = ex.getResponse().getStatus();
+            if (status == 404 || status == 409) {
+                throw new OrderApplicationException("Stock reservation " + reservationId + " cannot be committed", status);
+            }
+            throw new OrderApplicationException("Stock reservation commit failed with status " + status, 502);
+        }
+    }
+
+    @Override
+    public void release(String reservationId) {
+        stockReservationClient.call(client -> client.release(reservationId));
+    }
+}
@@ -0,0 +1,24 @@
+package org.acme.orders.infrastructure.external.dto;
+
+public class StockReservationDto {
+
+    private String id;
+    private String status;
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,53 @@
+package org.acme.orders.infrastructure.external.dto;
+
+import java.util.List;
+
+public class StockReservationRequestDto {
+
+    private List<Line> lines;
+
+    public StockReservationRequestDto() {
+    }
+
+    public StockReservationRequestDto(List<Line> lines) {
+        this.lines = lines;
+    }
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<Line> lines) {
+        this.lines = lines;
+    }
+
+    public static class Line {
+
+        private Long articleId;
+        private Integer quantity;
+
+        public Line() {
+        }
+
+        public Line(Long articleId, Integer quantity) {
+            this.articleId = articleId;
+            this.quantity = quantity;
+        }
+
+        public Long getArticleId() {
+            return articleId;
+        }
+
+        public void setArticleId(Long articleId) {
+            this.articleId = articleId;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.acme.orders.infrastructure.messaging;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * The fields of an {@code article.events} record that the catalog cache needs.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ArticleEvent(String eventType, Long articleId, Integer newStock) {
+}
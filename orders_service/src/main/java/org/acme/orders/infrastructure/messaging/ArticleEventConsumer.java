@@ -0,0 +1,51 @@
+package org.acme.orders.infrastructure.messaging;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.orders.infrastructure.external.CachingArticlesCatalog;
+import org.acme.shared.messaging.EventCodecs;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+
+@ApplicationScoped
+public class ArticleEventConsumer {
+
+    private static final Logger LOG = Logger.getLogger(ArticleEventConsumer.class);
+
+    private final EventCodecs eventCodecs;
+    private final CachingArticlesCatalog articlesCatalog;
+
+    @Inject
+    public ArticleEventConsumer(EventCodecs eventCodecs, CachingArticlesCatalog articlesCatalog) {
+        this.eventCodecs = eventCodecs;
+        this.articlesCatalog = articlesCatalog;
+    }
+
+    @Incoming("article-events")
+    public void consumeArticleEvent(ConsumerRecord<String, byte[]> record) {
+        try {
+            ArticleEvent event = eventCodecs.forRecord(record.headers(), ArticleEvent.class).decode(record.value());
+            if (event.eventType() == null || event.articleId() == null) {
+                LOG.warnf("Ignoring malformed article event at offset %d", record.offset());
+                return;
+            }
+
+            switch (event.eventType()) {
+                case "STOCK_CHANGED" -> {
+                    if (event.newStock() != null) {
+                        articlesCatalog.updateStock(event.articleId(), event.newStock());
+                    } else {
+                        articlesCatalog.evict(event.articleId());
+                    }
+                }
+                case "ARTICLE_UPDATED", "ARTICLE_DELETED" -> articlesCatalog.evict(event.articleId());
+                default -> LOG.debugf("Ignoring article event %s for article %d", event.eventType(), event.articleId());
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.errorf("Failed to parse article event: %s", e.getMessage());
+        }
+    }
+}
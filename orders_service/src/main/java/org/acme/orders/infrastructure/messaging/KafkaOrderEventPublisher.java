@@ -1,30 +1,29 @@
 package org.acme.orders.infrastructure.messaging;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import io.smallrye.reactive.messaging.kafka.api.OutgoingKafkaRecordMetadata;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.acme.orders.application.port.out.OrderEventPublisher;
-import org.eclipse.microprofile.reactive.messaging.Channel;
-import org.eclipse.microprofile.reactive.messaging.Emitter;
-import org.eclipse.microprofile.reactive.messaging.Message;
+import org.acme.shared.messaging.EventCodec;
+import org.acme.shared.messaging.EventCodecs;
 import org.jboss.logging.Logger;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 @ApplicationScoped
 public class KafkaOrderEventPublisher implements OrderEventPublisher {
 
     private static final Logger LOG = Logger.getLogger(KafkaOrderEventPublisher.class);
 
-    @Inject
-    @Channel("order-events")
-    Emitter<String> orderEventsEmitter;
+    private final OrderOutboxRelay orderOutbox;
+    private final EventCodec<OrderEvent> outboxCodec;
 
     @Inject
-    ObjectMapper objectMapper;
+    public KafkaOrderEventPublisher(OrderOutboxRelay orderOutbox, EventCodecs eventCodecs) {
+        this.orderOutbox = orderOutbox;
+        // The outbox always stores JSON; the relay re-encodes it when the channel uses another codec
+        this.outboxCodec = eventCodecs.json(OrderEvent.class);
+    }
 
     @Override
     public void publishOrderCreated(Long orderId, Long userId, String totalAmount, int itemCount) {
@@ -51,36 +50,16 @@ public class KafkaOrderEventPublisher implements OrderEventPublisher {
         sendEvent("ORDER_CANCELLED", orderId, userId, null, null, reason);
     }
 
-    private void sendEvent(String eventType, Long orderId, Long userId, 
+    private void sendEvent(String eventType, Long orderId, Long userId,
                           String totalAmount, Integer itemCount, String reason) {
         try {
-            Map<String, Object> event = new HashMap<>();
-            event.put("eventType", eventType);
-            event.put("orderId", orderId);
-            event.put("userId", userId);
-            event.put("timestamp", System.currentTimeMillis());
-            
-            if (totalAmount != null) {
-                event.put("totalAmount", totalAmount);
-            }
-            if (itemCount != null) {
-                event.put("itemCount", itemCount);
-            }
-            if (reason != null) {
-                event.put("reason", reason);
-            }
-
-            String payload = objectMapper.writeValueAsString(event);
-            
-            OutgoingKafkaRecordMetadata<String> metadata = OutgoingKafkaRecordMetadata.<String>builder()
-                    .withKey(orderId.toString())
-                    .build();
+            OrderEvent event = new OrderEvent(eventType, orderId, userId, totalAmount, itemCount, reason,
+                    System.currentTimeMillis());
+            String payload = new String(outboxCodec.encode(event), StandardCharsets.UTF_8);
+            orderOutbox.enqueue(orderId, eventType, payload);
 
-            Message<String> message = Message.of(payload).addMetadata(metadata);
-            orderEventsEmitter.send(message);
-            
-            LOG.infof("Order event sent: %s for order %d", eventType, orderId);
-        } catch (JsonProcessingException e) {
+            LOG.infof("Order event queued: %s for order %d", eventType, orderId);
+        } catch (IOException e) {
             LOG.errorf("Failed to serialize order event: %s", e.getMessage());
         }
     }
@@ -0,0 +1,13 @@
+package org.acme.orders.infrastructure.messaging;
+
+/**
+ * Wire format of {@code order-events}; notifications_service reads the same fields.
+ */
+public record OrderEvent(String eventType,
+                         Long orderId,
+                         Long userId,
+                         String totalAmount,
+                         Integer itemCount,
+                         String reason,
+                         long timestamp) {
+}
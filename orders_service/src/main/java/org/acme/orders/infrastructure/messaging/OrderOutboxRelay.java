@@ -0,0 +1,247 @@
+package org.acme.orders.infrastructure.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.reactive.messaging.kafka.api.OutgoingKafkaRecordMetadata;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.acme.shared.messaging.EventCodec;
+import org.acme.shared.messaging.EventCodecs;
+import org.apache.kafka.common.header.Headers;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transactional outbox for order events.
+ * <p>
+ * Events are written to {@code order_outbox} in the same transaction as the order change and drained to
+ * Kafka by a background relay. Only the replica holding the {@code order_outbox_lease} row relays, and it
+ * sends rows in id order, so the events of an order reach its partition in the order they were written.
+ * The batch is read in one short transaction, acknowledged by the broker outside of any transaction, and
+ * deleted in a second one. A crash never loses an event; it may at worst re-publish the last batch, which
+ * consumers drop through the {@code outbox-id} header.
+ * </p>
+ * <p>
+ * A row whose payload cannot be encoded for the wire is dead-lettered ({@code dead_lettered_at} and
+ * {@code failure_reason} are set) instead of failing the batch forever; it stays in the table for
+ * inspection and is no longer relayed.
+ * </p>
+ */
+@ApplicationScoped
+public class OrderOutboxRelay {
+
+    private static final Logger LOG = Logger.getLogger(OrderOutboxRelay.class);
+    static final String OUTBOX_ID_HEADER = "outbox-id";
+    private static final String LEASE_NAME = "order-events";
+    private static final int FAILURE_REASON_LENGTH = 500;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Inject
+    @Channel("order-events")
+    Emitter<byte[]> orderEventsEmitter;
+
+    @Inject
+    EventCodecs eventCodecs;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "order-outbox.batch-size", defaultValue = "100")
+    int batchSize;
+
+    @ConfigProperty(name = "order-outbox.send-timeout", defaultValue = "30s")
+    Duration sendTimeout;
+
+    @ConfigProperty(name = "order-outbox.lease-duration", defaultValue = "60s")
+    Duration leaseDuration;
+
+    private final String leaseOwner = UUID.randomUUID().toString();
+
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong oldestPendingAgeMillis = new AtomicLong();
+    private final AtomicLong deadLetteredEvents = new AtomicLong();
+    private Counter relayedEvents;
+    private Counter failedBatches;
+    private Counter deadLettered;
+    private EventCodec<OrderEvent> outboxCodec;
+    private EventCodec<OrderEvent> wireCodec;
+
+    @PostConstruct
+    void init() {
+        if (leaseDuration.compareTo(sendTimeout) <= 0) {
+            throw new IllegalStateException("order-outbox.lease-duration must be longer than order-outbox.send-timeout");
+        }
+        outboxCodec = eventCodecs.json(OrderEvent.class);
+        wireCodec = eventCodecs.forChannel("order-events", OrderEvent.class, "order-event-v1");
+
+        relayedEvents = meterRegistry.counter("orders.outbox.relayed");
+        failedBatches = meterRegistry.counter("orders.outbox.failed.batches");
+        deadLettered = meterRegistry.counter("orders.outbox.dead.lettered");
+        meterRegistry.gauge("orders.outbox.pending", pendingEvents);
+        meterRegistry.gauge("orders.outbox.lag.millis", oldestPendingAgeMillis);
+        meterRegistry.gauge("orders.outbox.dead.lettered.pending", deadLetteredEvents);
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void enqueue(Long orderId, String eventType, String payload) {
+        entityManager.persist(OrderOutboxEvent.create(orderId, eventType, payload));
+    }
+
+    @Scheduled(every = "${order-outbox.flush-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void relay() {
+        try {
+            int relayed;
+            do {
+                if (!QuarkusTransaction.requiringNew().call(this::holdLease)) {
+                    return;
+                }
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        } catch (Exception e) {
+            failedBatches.increment();
+            LOG.warnf("Order outbox relay failed, batch will be retried: %s", e.getMessage());
+        } finally {
+            QuarkusTransaction.requiringNew().run(this::refreshLag);
+        }
+    }
+
+    /**
+     * Takes or renews the relay lease; it can only be taken over once the current holder let it expire.
+     * Expiry uses the database clock so replicas with skewed clocks agree on it.
+     */
+    private boolean holdLease() {
+        int updated = entityManager.createNativeQuery(
+                        "update order_outbox_lease "
+                                + "set owner = :owner, expires_at = now() + make_interval(secs => :seconds) "
+                                + "where name = :name and (owner = :owner or expires_at < now())")
+                .setParameter("owner", leaseOwner)
+                .setParameter("seconds", leaseDuration.toMillis() / 1000.0)
+                .setParameter("name", LEASE_NAME)
+                .executeUpdate();
+        return updated == 1;
+    }
+
+    private int relayBatch() throws Exception {
+        List<OrderOutboxEvent> batch = QuarkusTransaction.requiringNew().call(() -> entityManager.createQuery(
+                        "select e from OrderOutboxEvent e where e.deadLetteredAt is null order by e.id",
+                        OrderOutboxEvent.class)
+                .setMaxResults(batchSize)
+                .getResultList());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Encode everything up front: a poison row is set aside, it does not hold back the rows behind it
+        List<CompletableFuture<Void>> acks = new ArrayList<>(batch.size());
+        List<Long> sent = new ArrayList<>(batch.size());
+        Map<Long, String> rejected = new LinkedHashMap<>();
+        for (OrderOutboxEvent event : batch) {
+            byte[] value;
+            try {
+                value = encode(event.getPayload());
+            } catch (IOException | RuntimeException e) {
+                LOG.errorf(e, "Dead-lettering order outbox event %d (order %d, %s): payload cannot be encoded",
+                        event.getId(), event.getAggregateId(), event.getEventType());
+                rejected.put(event.getId(), failureReason(e));
+                continue;
+            }
+            acks.add(send(event, value));
+            sent.add(event.getId());
+        }
+
+        // No transaction or row lock is held while waiting for the broker
+        CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new))
+                .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            if (!sent.isEmpty()) {
+                entityManager.createQuery("delete from OrderOutboxEvent e where e.id in :ids")
+                        .setParameter("ids", sent)
+                        .executeUpdate();
+            }
+            Instant now = Instant.now();
+            rejected.forEach((id, reason) -> entityManager.createQuery(
+                            "update OrderOutboxEvent e set e.deadLetteredAt = :now, e.failureReason = :reason "
+                                    + "where e.id = :id")
+                    .setParameter("now", now)
+                    .setParameter("reason", reason)
+                    .setParameter("id", id)
+                    .executeUpdate());
+        });
+        relayedEvents.increment(sent.size());
+        deadLettered.increment(rejected.size());
+        LOG.debugf("Relayed %d order events to Kafka", sent.size());
+        return batch.size();
+    }
+
+    private CompletableFuture<Void> send(OrderOutboxEvent event, byte[] value) {
+        CompletableFuture<Void> ack = new CompletableFuture<>();
+        Headers headers = EventCodecs.headersFor(wireCodec)
+                .add(OUTBOX_ID_HEADER, event.getId().toString().getBytes(StandardCharsets.UTF_8));
+        OutgoingKafkaRecordMetadata<String> metadata = OutgoingKafkaRecordMetadata.<String>builder()
+                .withKey(event.getAggregateId().toString())
+                .withHeaders(headers)
+                .build();
+        Message<byte[]> message = Message.of(value)
+                .addMetadata(metadata)
+                .withAck(() -> {
+                    ack.complete(null);
+                    return CompletableFuture.completedFuture(null);
+                })
+                .withNack(failure -> {
+                    ack.completeExceptionally(failure);
+                    return CompletableFuture.completedFuture(null);
+                });
+        orderEventsEmitter.send(message);
+        return ack;
+    }
+
+    private byte[] encode(String payload) throws IOException {
+        byte[] json = payload.getBytes(StandardCharsets.UTF_8);
+        if (EventCodec.JSON.equals(wireCodec.name())) {
+            return json;
+        }
+        return wireCodec.encode(outboxCodec.decode(json));
+    }
+
+    private static String failureReason(Exception e) {
+        String reason = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return reason.length() <= FAILURE_REASON_LENGTH ? reason : reason.substring(0, FAILURE_REASON_LENGTH);
+    }
+
+    private void refreshLag() {
+        Object[] stats = (Object[]) entityManager.createQuery(
+                        "select count(e), min(e.createdAt) from OrderOutboxEvent e where e.deadLetteredAt is null")
+                .getSingleResult();
+        pendingEvents.set(((Number) stats[0]).longValue());
+        Instant oldest = (Instant) stats[1];
+        oldestPendingAgeMillis.set(oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis());
+        deadLetteredEvents.set(entityManager.createQuery(
+                        "select count(e) from OrderOutboxEvent e where e.deadLetteredAt is not null", Long.class)
+                .getSingleResult());
+    }
+}
@@ -0,0 +1,41 @@
+package org.acme.orders.infrastructure.persistence;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.acme.orders.domain.model.OrderIdempotencyKey;
+import org.acme.orders.domain.repository.OrderIdempotencyKeyRepository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@ApplicationScoped
+public class OrderIdempotencyKeyJpaRepository implements OrderIdempotencyKeyRepository {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Override
+    public void persist(OrderIdempotencyKey idempotencyKey) {
+        entityManager.persist(idempotencyKey);
+        entityManager.flush();
+    }
+
+    @Override
+    public Optional<OrderIdempotencyKey> findByUserIdAndKey(Long userId, String key) {
+        return entityManager.createQuery(
+                "select k from OrderIdempotencyKey k where k.userId = :userId and k.key = :key",
+                OrderIdempotencyKey.class)
+                .setParameter("userId", userId)
+                .setParameter("key", key)
+                .getResultStream()
+                .findFirst();
+    }
+
+    @Override
+    public int deleteExpired(Instant now) {
+        return entityManager.createQuery("delete from OrderIdempotencyKey k where k.expiresAt < :now")
+                .setParameter("now", now)
+                .executeUpdate();
+    }
+}
@@ -1,19 +1,27 @@
 package org.acme.orders.infrastructure.persistence;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import org.acme.orders.domain.model.Order;
 import org.acme.orders.domain.model.OrderStatus;
+import org.acme.orders.domain.repository.OrderFetchPlan;
 import org.acme.orders.domain.repository.OrderRepository;
+import org.acme.orders.domain.value.OrderCursor;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @ApplicationScoped
 public class OrderJpaRepository implements OrderRepository {
 
+    private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
     @PersistenceContext
     EntityManager entityManager;
 
@@ -27,26 +35,53 @@ public class OrderJpaRepository implements OrderRepository {
     }
 
     @Override
-    public Optional<Order> findByIdAndUserId(Long id, Long userId) {
+    public Optional<Order> findByIdAndUserId(Long id, Long userId, OrderFetchPlan plan) {
         TypedQuery<Order> query = entityManager.createQuery(
                 "select o from Order o where o.id = :id and o.userId = :userId",
                 Order.class);
         query.setParameter("id", id);
         query.setParameter("userId", userId);
+        query.setHint(FETCH_GRAPH_HINT, entityGraph(plan));
         return query.getResultStream().findFirst();
     }
 
     @Override
-    public Optional<Order> findOptionalById(Long id) {
-        return Optional.ofNullable(entityManager.find(Order.class, id));
+    public Optional<Order> findOptionalById(Long id, OrderFetchPlan plan) {
+        return Optional.ofNullable(entityManager.find(Order.class, id, Map.of(FETCH_GRAPH_HINT, entityGraph(plan))));
     }
 
     @Override
-    public List<Order> findByUserId(Long userId) {
+    public List<Order> findPageByUserId(Long userId, OrderCursor after, int limit, OrderFetchPlan plan) {
+        boolean withItems = plan == OrderFetchPlan.FULL;
+        String select = withItems ? "select o.id from Order o" : "select o from Order o";
+        String where = after == null
+                ? " where o.userId = :userId"
+                : " where o.userId = :userId "
+                + "and (o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id))";
+        Query pageQuery = entityManager.createQuery(select + where + " order by o.createdAt desc, o.id desc")
+                .setParameter("userId", userId)
+                .setMaxResults(limit);
+        if (after != null) {
+            pageQuery.setParameter("createdAt", after.createdAt());
+            pageQuery.setParameter("id", after.id());
+        }
+        if (!withItems) {
+            @SuppressWarnings("unchecked")
+            List<Order> orders = pageQuery.getResultList();
+            return orders;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Long> ids = pageQuery.getResultList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Limiting on the id query keeps the items join out of the pagination
         return entityManager.createQuery(
-                "select o from Order o where o.userId = :userId",
+                "select o from Order o where o.id in :ids order by o.createdAt desc, o.id desc",
                 Order.class)
-                .setParameter("userId", userId)
+                .setParameter("ids", ids)
+                .setHint(FETCH_GRAPH_HINT, entityGraph(plan))
                 .getResultList();
     }
 
@@ -60,4 +95,27 @@ public class OrderJpaRepository implements OrderRepository {
                 .getResultList();
     }
 
+    @Override
+    public List<Order> findPendingStockCommits(Instant createdBefore, int limit) {
+        return entityManager.createQuery(
+                "select o from Order o where o.stockCommitPending = true and o.status <> :cancelled "
+                        + "and o.createdAt < :createdBefore order by o.createdAt",
+                Order.class)
+                .setParameter("cancelled", OrderStatus.CANCELLED)
+                .setParameter("createdBefore", createdBefore)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public void clearStockCommitPending(Long orderId) {
+        entityManager.createQuery("update Order o set o.stockCommitPending = false where o.id = :id")
+                .setParameter("id", orderId)
+                .executeUpdate();
+    }
+
+    private EntityGraph<?> entityGraph(OrderFetchPlan plan) {
+        String name = plan == OrderFetchPlan.FULL ? Order.FULL_GRAPH : Order.SUMMARY_GRAPH;
+        return entityManager.getEntityGraph(name);
+    }
 }
@@ -0,0 +1,28 @@
+package org.acme.orders.infrastructure.scheduling;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.acme.orders.domain.repository.OrderIdempotencyKeyRepository;
+import org.jboss.logging.Logger;
+
+import java.time.Instant;
+
+@ApplicationScoped
+public class IdempotencyKeyPurgeJob {
+
+    private static final Logger LOG = Logger.getLogger(IdempotencyKeyPurgeJob.class);
+
+    @Inject
+    OrderIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Transactional
+    @Scheduled(every = "${idempotency-keys.purge-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void purgeExpired() {
+        int purged = idempotencyKeyRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            LOG.infof("Purged %d expired idempotency keys", purged);
+        }
+    }
+}
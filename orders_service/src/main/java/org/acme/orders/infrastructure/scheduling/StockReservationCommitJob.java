@@ -0,0 +1,24 @@
+package org.acme.orders.infrastructure.scheduling;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.orders.application.OrderService;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+public class StockReservationCommitJob {
+
+    private static final Logger LOG = Logger.getLogger(StockReservationCommitJob.class);
+
+    @Inject
+    OrderService orderService;
+
+    @Scheduled(every = "${stock-reservation.commit-retry-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void commitPending() {
+        int settled = orderService.commitPendingStockReservations();
+        if (settled > 0) {
+            LOG.infof("Settled %d pending stock reservation commits", settled);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.acme.orders.infrastructure.security;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import org.eclipse.microprofile.rest.client.ext.ClientHeadersFactory;
+
+/**
+ * Authenticates calls with the orders service token instead of the end user's credentials.
+ */
+@ApplicationScoped
+public class ServiceTokenHeadersFactory implements ClientHeadersFactory {
+
+    @Inject
+    ServiceTokenProvider serviceTokenProvider;
+
+    @Override
+    public MultivaluedMap<String, String> update(MultivaluedMap<String, String> incomingHeaders,
+                                                 MultivaluedMap<String, String> clientOutgoingHeaders) {
+        MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+        headers.putSingle(HttpHeaders.AUTHORIZATION, "Bearer " + serviceTokenProvider.token());
+        return headers;
+    }
+}
@@ -0,0 +1,60 @@
+package org.acme.orders.infrastructure.security;
+
+import io.smallrye.jwt.build.Jwt;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Issues the short-lived token orders_service presents to other services for its own calls, with the
+ * {@code SERVICE} group. The token is reused until it gets close to its expiry.
+ */
+@ApplicationScoped
+public class ServiceTokenProvider {
+
+    private static final String SERVICE_ROLE = "SERVICE";
+    private static final String SUBJECT = "orders-service";
+
+    private final String issuer;
+    private final String secret;
+    private final Duration lifetime;
+    private volatile IssuedToken current;
+
+    @Inject
+    public ServiceTokenProvider(@ConfigProperty(name = "jwt.issuer") String issuer,
+                                @ConfigProperty(name = "jwt.secret") String secret,
+                                @ConfigProperty(name = "service-token.lifetime", defaultValue = "5m") Duration lifetime) {
+        this.issuer = issuer;
+        this.secret = secret;
+        this.lifetime = lifetime;
+    }
+
+    public String token() {
+        IssuedToken token = current;
+        Instant now = Instant.now();
+        // Renewed at half its lifetime so a token is never sent just before it expires
+        if (token == null || now.isAfter(token.renewAt())) {
+            token = issue(now);
+            current = token;
+        }
+        return token.value();
+    }
+
+    private IssuedToken issue(Instant now) {
+        String value = Jwt.issuer(issuer)
+                .subject(SUBJECT)
+                .upn(SUBJECT)
+                .issuedAt(now)
+                .expiresAt(now.plus(lifetime))
+                .groups(Set.of(SERVICE_ROLE))
+                .signWithSecret(secret);
+        return new IssuedToken(value, now.plus(lifetime.dividedBy(2)));
+    }
+
+    private record IssuedToken(String value, Instant renewAt) {
+    }
+}
@@ -1,21 +1,26 @@
 package org.acme.orders.presentation.rest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.acme.orders.application.OrderService;
 import org.acme.orders.application.exception.OrderApplicationException;
 import org.acme.orders.domain.model.OrderStatus;
 import org.acme.orders.application.dto.request.CreateOrderRequest;
+import org.acme.orders.application.dto.response.OrderPageResponse;
 import org.acme.orders.application.dto.response.OrderResponse;
 import org.eclipse.microprofile.jwt.JsonWebToken;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.function.Supplier;
 
 @Path("/api/orders")
@@ -27,24 +32,65 @@ public class OrderResource {
     @Inject
     JsonWebToken jwt;
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     @Inject
     OrderService orderService;
 
+    @Inject
+    ObjectMapper objectMapper;
+
     @POST
     @RolesAllowed({"USER", "ADMIN"})
-    @Operation(summary = "Create a new order", description = "Create a new order for the authenticated user")
-    public Response createOrder(@Valid CreateOrderRequest request) {
+    @Operation(summary = "Create a new order", description = "Create a new order for the authenticated user. "
+            + "Retries carrying the same Idempotency-Key return the original order")
+    public Response createOrder(@HeaderParam(IDEMPOTENCY_KEY_HEADER) String idempotencyKey,
+                                @Valid CreateOrderRequest request) {
         Long userId = getUserIdFromToken();
-        OrderResponse order = execute(() -> orderService.createOrder(userId, request));
+        OrderResponse order = execute(() -> orderService.createOrder(userId, idempotencyKey, request));
         return Response.status(Response.Status.CREATED).entity(order).build();
     }
 
     @GET
     @RolesAllowed({"USER", "ADMIN"})
-    @Operation(summary = "Get my orders", description = "Get all orders for the authenticated user")
-    public List<OrderResponse> getMyOrders() {
+    @Operation(summary = "Get my orders", description = "Get a page of orders for the authenticated user, newest first. "
+            + "Items are only included with view=full. "
+            + "The cursor of the next page is returned in the X-Next-Cursor header")
+    public Response getMyOrders(@QueryParam("cursor") String cursor,
+                                @QueryParam("size") Integer size,
+                                @QueryParam("view") @DefaultValue("summary") String view) {
         Long userId = getUserIdFromToken();
-        return execute(() -> orderService.getUserOrders(userId));
+        boolean includeItems = switch (view) {
+            case "summary" -> false;
+            case "full" -> true;
+            default -> throw new WebApplicationException("view must be 'summary' or 'full'", Response.Status.BAD_REQUEST);
+        };
+        OrderPageResponse page = execute(() -> orderService.getUserOrders(userId, cursor, size, includeItems));
+        Response.ResponseBuilder response = Response.ok(page.getItems());
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.build();
+    }
+
+    @GET
+    @Path("/export")
+    @RolesAllowed({"USER", "ADMIN"})
+    @Operation(summary = "Export my orders", description = "Stream the full order history of the authenticated user as a JSON array")
+    public Response exportMyOrders() {
+        Long userId = getUserIdFromToken();
+        StreamingOutput body = output -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(output)) {
+                generator.writeStartArray();
+                execute(() -> {
+                    orderService.exportUserOrders(userId, order -> writeOrder(generator, order));
+                    return null;
+                });
+                generator.writeEndArray();
+            }
+        };
+        return Response.ok(body, MediaType.APPLICATION_JSON).build();
     }
 
     @GET
@@ -84,6 +130,15 @@ public class OrderResource {
         return Response.noContent().build();
     }
 
+    private void writeOrder(JsonGenerator generator, OrderResponse order) {
+        try {
+            generator.writeObject(order);
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private Long getUserIdFromToken() {
         Object claim = jwt.getClaim("userId");
         if (claim == null) {
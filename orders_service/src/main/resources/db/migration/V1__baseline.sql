@@ -0,0 +1,43 @@
+-- Schéma initial, identique à celui généré par Hibernate (idempotent pour les bases existantes)
+create table if not exists orders (
+    id           bigint generated by default as identity primary key,
+    user_id      bigint                      not null,
+    total_amount numeric(10, 2)              not null,
+    status       varchar(16)                 not null,
+    item_count   integer,
+    created_at   timestamp(6) with time zone not null,
+    updated_at   timestamp(6) with time zone
+);
+
+create table if not exists order_items (
+    id           bigint generated by default as identity primary key,
+    order_id     bigint         not null references orders (id),
+    article_id   bigint         not null,
+    article_name varchar(100)   not null,
+    quantity     integer        not null,
+    unit_price   numeric(10, 2) not null,
+    subtotal     numeric(10, 2) not null
+);
+
+create table if not exists order_outbox (
+    id           bigint generated by default as identity primary key,
+    aggregate_id bigint                      not null,
+    event_type   varchar(32)                 not null,
+    payload      text                        not null,
+    created_at   timestamp(6) with time zone not null
+);
+
+create table if not exists order_idempotency_keys (
+    id              bigint generated by default as identity primary key,
+    user_id         bigint                      not null,
+    idempotency_key varchar(128)                not null,
+    request_hash    varchar(64)                 not null,
+    order_id        bigint                      not null,
+    created_at      timestamp(6) with time zone not null,
+    constraint uk_order_idempotency_user_key unique (user_id, idempotency_key)
+);
+
+create index if not exists idx_order_idempotency_created_at on order_idempotency_keys (created_at);
+
+-- Colonne ajoutée après la création initiale de la table orders
+alter table orders add column if not exists item_count integer;
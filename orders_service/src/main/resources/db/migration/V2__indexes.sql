@@ -0,0 +1,8 @@
+-- Historique paginé par curseur (created_at desc, id desc) d'un utilisateur
+create index if not exists idx_orders_user_created on orders (user_id, created_at desc, id desc);
+
+-- findByUserIdAndStatus
+create index if not exists idx_orders_user_status on orders (user_id, status);
+
+-- Chargement des lignes d'une page de commandes (clé étrangère non indexée par Postgres)
+create index if not exists idx_order_items_order_id on order_items (order_id);
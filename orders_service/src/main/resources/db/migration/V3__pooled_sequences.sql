@@ -0,0 +1,10 @@
+-- Identifiants générés par séquences (optimiseur pooled-lo, incrément = IdAllocation.SIZE, via le placeholder id_allocation_size)
+-- pour que Hibernate puisse regrouper les insertions en batch JDBC.
+-- Les colonnes IDENTITY existantes restent en place : Hibernate fournit désormais l'id.
+create sequence if not exists orders_seq start with 1 increment by ${id_allocation_size};
+create sequence if not exists order_items_seq start with 1 increment by ${id_allocation_size};
+create sequence if not exists order_idempotency_keys_seq start with 1 increment by ${id_allocation_size};
+
+select setval('orders_seq', (select coalesce(max(id), 0) from orders) + ${id_allocation_size});
+select setval('order_items_seq', (select coalesce(max(id), 0) from order_items) + ${id_allocation_size});
+select setval('order_idempotency_keys_seq', (select coalesce(max(id), 0) from order_idempotency_keys) + ${id_allocation_size});
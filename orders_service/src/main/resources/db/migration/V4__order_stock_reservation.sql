@@ -0,0 +1,2 @@
+-- Réservation de stock (articles_service) rattachée à la commande, rendue à l'annulation
+alter table orders add column if not exists stock_reservation_id varchar(36);
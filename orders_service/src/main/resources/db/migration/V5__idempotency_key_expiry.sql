@@ -0,0 +1,8 @@
+-- Durée de rétention des clés Idempotency-Key : les lignes expirées sont purgées périodiquement
+alter table order_idempotency_keys add column if not exists expires_at timestamp(6) with time zone;
+
+update order_idempotency_keys set expires_at = created_at + interval '24 hours' where expires_at is null;
+
+alter table order_idempotency_keys alter column expires_at set not null;
+
+create index if not exists idx_order_idempotency_expires_at on order_idempotency_keys (expires_at);
@@ -0,0 +1,11 @@
+-- Bail du relais de l'outbox : une seule instance publie à la fois, dans l'ordre des id,
+-- pour que les événements d'une commande arrivent dans l'ordre sur sa partition
+create table if not exists order_outbox_lease (
+    name       varchar(64)                 not null primary key,
+    owner      varchar(36),
+    expires_at timestamp(6) with time zone not null
+);
+
+insert into order_outbox_lease (name, owner, expires_at)
+values ('order-events', null, '-infinity')
+on conflict (name) do nothing;
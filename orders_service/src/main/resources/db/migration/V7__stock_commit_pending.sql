@@ -0,0 +1,5 @@
+-- Commande dont la réservation de stock n'a pas encore été confirmée auprès d'articles_service :
+-- la confirmation est rejouée avant que la réservation n'expire
+alter table orders add column if not exists stock_commit_pending boolean not null default false;
+
+create index if not exists idx_orders_stock_commit_pending on orders (created_at) where stock_commit_pending;
@@ -0,0 +1,5 @@
+-- Ligne de l'outbox impossible à encoder pour Kafka : mise de côté au lieu de bloquer le relais
+alter table order_outbox add column if not exists dead_lettered_at timestamp(6) with time zone;
+alter table order_outbox add column if not exists failure_reason varchar(500);
+
+create index if not exists idx_order_outbox_relayable on order_outbox (id) where dead_lettered_at is null;
@@ -0,0 +1,18 @@
+package org.acme.orders;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+
+import java.util.Map;
+
+/**
+ * Collects Hibernate statistics, with the scheduled jobs off so that only the statements of the test are counted.
+ */
+public class HibernateStatisticsProfile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        return Map.of(
+                "quarkus.hibernate-orm.statistics", "true",
+                "quarkus.scheduler.enabled", "false");
+    }
+}
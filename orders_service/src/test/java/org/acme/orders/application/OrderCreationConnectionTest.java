@@ -0,0 +1,211 @@
+package org.acme.orders.application;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.acme.orders.application.dto.request.CreateOrderRequest;
+import org.acme.orders.application.dto.request.OrderItemRequest;
+import org.acme.orders.application.port.out.ArticleDetails;
+import org.acme.orders.application.port.out.ArticlesCatalogPort;
+import org.acme.orders.application.port.out.StockReservationPort;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Order creation against a catalog and a stock service that each take {@value #REMOTE_LATENCY_MS} ms to answer,
+ * with a pool of {@value #POOL_SIZE} connections: more concurrent orders than connections must all go through.
+ * The same load run the way createOrder used to, one transaction around the remote calls, exhausts the pool.
+ */
+@QuarkusTest
+@TestProfile(OrderCreationConnectionTest.SmallPool.class)
+class OrderCreationConnectionTest {
+
+    private static final Logger LOG = Logger.getLogger(OrderCreationConnectionTest.class);
+
+    static final int POOL_SIZE = 2;
+    static final long REMOTE_LATENCY_MS = 400;
+    private static final int CONCURRENT_ORDERS = 8;
+
+    @Inject
+    OrderService orderService;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    SlowCatalog catalog;
+
+    @Inject
+    SlowStockReservations stockReservations;
+
+    @AfterEach
+    void resetRemotes() {
+        catalog.inTransaction.set(false);
+        stockReservations.inTransaction.set(false);
+    }
+
+    @Test
+    void callsTheRemoteServicesOutsideAnyTransaction() {
+        orderService.createOrder(1L, null, request());
+
+        assertFalse(catalog.inTransaction.get(), "catalog called inside a transaction");
+        assertFalse(stockReservations.inTransaction.get(), "stock reserved inside a transaction");
+    }
+
+    @Test
+    void placesMoreConcurrentOrdersThanPooledConnections() throws Exception {
+        long started = System.nanoTime();
+        List<Throwable> failures = placeConcurrently(userId -> orderService.createOrder(userId, null, request()));
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        LOG.infof("Two-phase createOrder: %d orders on %d connections in %d ms, %d failed",
+                CONCURRENT_ORDERS, POOL_SIZE, elapsedMs, failures.size());
+
+        assertTrue(failures.isEmpty(), () -> "orders failed: " + failures);
+    }
+
+    @Test
+    void exhaustsThePoolWhenTheRemoteCallsRunInTheTransaction() throws Exception {
+        // Previous shape: @Transactional createOrder read the database before fanning out to the remote services
+        List<Throwable> failures = placeConcurrently(userId -> QuarkusTransaction.requiringNew().call(() -> {
+            entityManager.createNativeQuery("select 1").getSingleResult();
+            return orderService.createOrder(userId, null, request());
+        }));
+        LOG.infof("Single-transaction createOrder: %d orders on %d connections, %d failed",
+                CONCURRENT_ORDERS, POOL_SIZE, failures.size());
+
+        assertFalse(failures.isEmpty(), "expected connection acquisition timeouts");
+    }
+
+    private List<Throwable> placeConcurrently(Function<Long, Object> placeOrder) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_ORDERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> results = new ArrayList<>();
+            for (long userId = 1; userId <= CONCURRENT_ORDERS; userId++) {
+                long user = userId;
+                Callable<Object> call = () -> {
+                    start.await();
+                    return placeOrder.apply(user);
+                };
+                results.add(executor.submit(call));
+            }
+            start.countDown();
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<Object> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static CreateOrderRequest request() {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setArticleId(1L);
+        item.setQuantity(1);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setItems(List.of(item));
+        return request;
+    }
+
+    private static void remoteLatency() {
+        try {
+            Thread.sleep(REMOTE_LATENCY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class SmallPool implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "quarkus.datasource.jdbc.max-size", String.valueOf(POOL_SIZE),
+                    "quarkus.datasource.jdbc.acquisition-timeout", "1s",
+                    // The outbox relay and the retry jobs would compete for the two connections
+                    "quarkus.scheduler.enabled", "false");
+        }
+
+        @Override
+        public Set<Class<?>> getEnabledAlternatives() {
+            return Set.of(SlowCatalog.class, SlowStockReservations.class);
+        }
+    }
+
+    @ApplicationScoped
+    @Alternative
+    static class SlowCatalog implements ArticlesCatalogPort {
+
+        final AtomicBoolean inTransaction = new AtomicBoolean();
+
+        @Override
+        public Optional<ArticleDetails> findArticleById(Long articleId) {
+            return Optional.ofNullable(findArticlesByIds(List.of(articleId)).get(articleId));
+        }
+
+        @Override
+        public Map<Long, ArticleDetails> findArticlesByIds(Collection<Long> articleIds) {
+            inTransaction.compareAndSet(false, QuarkusTransaction.isActive());
+            remoteLatency();
+            return articleIds.stream().collect(Collectors.toMap(Function.identity(),
+                    id -> new ArticleDetails(id, "Article " + id, new BigDecimal("9.90"), 1_000)));
+        }
+    }
+
+    @ApplicationScoped
+    @Alternative
+    static class SlowStockReservations implements StockReservationPort {
+
+        final AtomicBoolean inTransaction = new AtomicBoolean();
+
+        @Override
+        public String reserve(Map<Long, Integer> quantities) {
+            inTransaction.compareAndSet(false, QuarkusTransaction.isActive());
+            remoteLatency();
+            return UUID.randomUUID().toString();
+        }
+
+        @Override
+        public void commit(String reservationId) {
+        }
+
+        @Override
+        public void release(String reservationId) {
+        }
+    }
+}
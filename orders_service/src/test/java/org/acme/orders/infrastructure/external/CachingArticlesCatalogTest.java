@@ -0,0 +1,108 @@
+package org.acme.orders.infrastructure.external;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.acme.orders.application.port.out.ArticleDetails;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CachingArticlesCatalogTest {
+
+    private final FakeRestAdapter rest = new FakeRestAdapter();
+    private final CachingArticlesCatalog catalog =
+            new CachingArticlesCatalog(rest, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+    @Test
+    void servesRepeatedLookupsFromTheCache() {
+        catalog.findArticleById(1L);
+        catalog.findArticleById(1L);
+        catalog.findArticlesByIds(List.of(1L));
+
+        assertEquals(1, rest.calls.get());
+    }
+
+    @Test
+    void doesNotStoreALoadThatAnEvictionOvertook() {
+        rest.duringCall = articleId -> catalog.evict(articleId);
+        catalog.findArticleById(1L);
+
+        rest.duringCall = articleId -> { };
+        catalog.findArticleById(1L);
+
+        assertEquals(2, rest.calls.get());
+    }
+
+    @Test
+    void doesNotStoreALoadThatAStockChangeOvertook() {
+        rest.duringCall = articleId -> catalog.updateStock(articleId, 3);
+        catalog.findArticlesByIds(List.of(1L, 2L));
+
+        rest.duringCall = articleId -> { };
+        rest.stock = 3;
+        Optional<ArticleDetails> reloaded = catalog.findArticleById(1L);
+
+        assertEquals(2, rest.calls.get());
+        assertEquals(3, reloaded.orElseThrow().stock());
+    }
+
+    @Test
+    void appliesStockChangesToCachedArticles() {
+        catalog.findArticleById(1L);
+
+        catalog.updateStock(1L, 7);
+
+        assertEquals(7, catalog.findArticleById(1L).orElseThrow().stock());
+        assertEquals(1, rest.calls.get());
+    }
+
+    @Test
+    void storesLoadsStartedAfterAnEviction() {
+        catalog.evict(1L);
+        catalog.findArticleById(1L);
+        catalog.findArticleById(1L);
+
+        assertEquals(1, rest.calls.get());
+    }
+
+    private static final class FakeRestAdapter extends ArticlesCatalogRestAdapter {
+
+        final AtomicInteger calls = new AtomicInteger();
+        Consumer<Long> duringCall = articleId -> { };
+        int stock = 10;
+
+        FakeRestAdapter() {
+            super(null);
+        }
+
+        @Override
+        public Optional<ArticleDetails> findArticleById(Long articleId) {
+            calls.incrementAndGet();
+            ArticleDetails article = article(articleId);
+            duringCall.accept(articleId);
+            return Optional.of(article);
+        }
+
+        @Override
+        public Map<Long, ArticleDetails> findArticlesByIds(Collection<Long> articleIds) {
+            calls.incrementAndGet();
+            Map<Long, ArticleDetails> articles = articleIds.stream()
+                    .collect(Collectors.toMap(articleId -> articleId, this::article));
+            articleIds.forEach(duringCall);
+            return articles;
+        }
+
+        private ArticleDetails article(Long articleId) {
+            return new ArticleDetails(articleId, "Article " + articleId, new BigDecimal("9.90"), stock);
+        }
+    }
+}
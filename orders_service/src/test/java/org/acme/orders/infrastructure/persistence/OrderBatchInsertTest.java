@@ -0,0 +1,88 @@
+package org.acme.orders.infrastructure.persistence;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.acme.orders.HibernateStatisticsProfile;
+import org.acme.orders.application.port.out.ArticleDetails;
+import org.acme.orders.domain.model.IdAllocation;
+import org.acme.orders.domain.model.Order;
+import org.acme.orders.domain.repository.OrderRepository;
+import org.acme.orders.domain.service.OrderDomainService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * An order with {@value #ITEMS} items must be inserted in JDBC batches, which IDENTITY ids used to rule out.
+ */
+@QuarkusTest
+@TestProfile(HibernateStatisticsProfile.class)
+class OrderBatchInsertTest {
+
+    private static final Logger LOG = Logger.getLogger(OrderBatchInsertTest.class);
+
+    static final int ITEMS = 40;
+
+    @Inject
+    OrderRepository orderRepository;
+
+    @Inject
+    OrderDomainService orderDomainService;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Inject
+    DataSource dataSource;
+
+    @Test
+    void insertsTheItemsOfAnOrderInBatches() {
+        Order order = Order.create(20_001L);
+        for (long articleId = 1; articleId <= ITEMS; articleId++) {
+            orderDomainService.addItem(order,
+                    new ArticleDetails(articleId, "Article " + articleId, new BigDecimal("4.50"), 100), 1);
+        }
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        long started = System.nanoTime();
+        QuarkusTransaction.requiringNew().run(() -> orderRepository.persist(order));
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        LOG.infof("Inserted 1 order and %d items with %d statements in %d ms",
+                ITEMS, statistics.getPrepareStatementCount(), elapsedMs);
+
+        assertEquals(ITEMS + 1, statistics.getEntityInsertCount());
+        // One id block per sequence, one batch of orders and two batches of 20 items
+        assertTrue(statistics.getPrepareStatementCount() <= 5,
+                () -> statistics.getPrepareStatementCount() + " statements for " + (ITEMS + 1) + " inserts");
+    }
+
+    @Test
+    void sequencesIncrementByTheEntityAllocationSize() throws SQLException {
+        String sql = "select increment_by from pg_sequences where sequencename = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (String sequence : List.of("orders_seq", "order_items_seq", "order_idempotency_keys_seq")) {
+                statement.setString(1, sequence);
+                try (ResultSet rs = statement.executeQuery()) {
+                    assertTrue(rs.next(), sequence + " does not exist");
+                    assertEquals(IdAllocation.SIZE, rs.getLong(1), sequence);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.acme.orders.infrastructure.persistence;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the order history, the status lookup and the stock commit retries keep using the indexes the
+ * Flyway migrations create for them.
+ * <p>
+ * Runs against the empty Dev Services database, where a sequential scan always looks cheapest.
+ * </p>
+ */
+@QuarkusTest
+class OrderQueryPlanTest {
+
+    @Inject
+    DataSource dataSource;
+
+    @Test
+    void pagesTheOrderHistoryInIndexOrder() throws SQLException {
+        String plan = explain("select id from orders where user_id = 1 "
+                + "and (created_at < now() or (created_at = now() and id < 100)) "
+                + "order by created_at desc, id desc limit 20");
+
+        assertTrue(plan.contains("idx_orders_user_created"), plan);
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    void findsOrdersByUserAndStatus() throws SQLException {
+        assertUsesIndex("select * from orders where user_id = 1 and status = 'PENDING'", "idx_orders_user_status");
+    }
+
+    @Test
+    void loadsTheItemsOfAPage() throws SQLException {
+        assertUsesIndex("select * from order_items where order_id in (1, 2, 3)", "idx_order_items_order_id");
+    }
+
+    @Test
+    void findsStockCommitsToRetry() throws SQLException {
+        assertUsesIndex("select * from orders where stock_commit_pending = true and status <> 'CANCELLED' "
+                + "and created_at < now() order by created_at limit 100", "idx_orders_stock_commit_pending");
+    }
+
+    private void assertUsesIndex(String sql, String... indexes) throws SQLException {
+        String plan = explain(sql);
+        assertFalse(plan.contains("Seq Scan"), () -> "sequential scan for " + sql + "\n" + plan);
+        assertTrue(Arrays.stream(indexes).anyMatch(plan::contains),
+                () -> "none of " + Arrays.toString(indexes) + " used for " + sql + "\n" + plan);
+    }
+
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                // Only left in the plan when no index can serve the query
+                statement.execute("set local enable_seqscan = off");
+                StringJoiner plan = new StringJoiner("\n");
+                try (ResultSet rows = statement.executeQuery("explain " + sql)) {
+                    while (rows.next()) {
+                        plan.add(rows.getString(1));
+                    }
+                }
+                return plan.toString();
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.acme.shared.loadbalancing;
+
+import io.smallrye.mutiny.Multi;
+import jakarta.ws.rs.WebApplicationException;
+
+import java.net.URL;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * One REST client per instance of a service, each call going to the instance picked by the {@link LoadBalancer}.
+ */
+public class BalancedClient<T> {
+
+    private final LoadBalancer loadBalancer;
+    private final Map<ServiceInstance, T> clients = new IdentityHashMap<>();
+
+    public BalancedClient(LoadBalancer loadBalancer, Function<URL, T> clientFactory) {
+        this.loadBalancer = loadBalancer;
+        for (ServiceInstance instance : loadBalancer.instances()) {
+            clients.put(instance, clientFactory.apply(instance.baseUrl()));
+        }
+    }
+
+    public <R> R call(Function<T, R> action) {
+        ServiceInstance instance = loadBalancer.choose();
+        long start = System.nanoTime();
+        boolean failure = true;
+        try {
+            R result = action.apply(clients.get(instance));
+            failure = false;
+            return result;
+        } catch (WebApplicationException e) {
+            failure = isFailure(e);
+            throw e;
+        } finally {
+            loadBalancer.release(instance, start, failure);
+        }
+    }
+
+    /**
+     * Same as {@link #call} for asynchronous client methods: the call is released when the stage completes.
+     */
+    public <R> CompletionStage<R> callAsync(Function<T, CompletionStage<R>> action) {
+        ServiceInstance instance = loadBalancer.choose();
+        long start = System.nanoTime();
+        CompletionStage<R> stage;
+        try {
+            stage = action.apply(clients.get(instance));
+        } catch (RuntimeException e) {
+            loadBalancer.release(instance, start, isFailure(e));
+            throw e;
+        }
+        return stage.whenComplete((result, failure) -> loadBalancer.release(instance, start,
+                failure != null && isFailure(failure instanceof CompletionException ? failure.getCause() : failure)));
+    }
+
+    /**
+     * Same as {@link #call} for streaming client methods: the instance is chosen when the stream is subscribed
+     * to and released when it completes, fails or is cancelled, so it counts as in flight while it is open.
+     */
+    public <R> Multi<R> stream(Function<T, Multi<R>> action) {
+        return Multi.createFrom().deferred(() -> {
+            ServiceInstance instance = loadBalancer.choose();
+            Multi<R> stream;
+            try {
+                stream = action.apply(clients.get(instance));
+            } catch (RuntimeException e) {
+                loadBalancer.release(instance, isFailure(e));
+                throw e;
+            }
+            return stream.onTermination().invoke((failure, cancelled) ->
+                    loadBalancer.release(instance, failure != null && isFailure(failure)));
+        });
+    }
+
+    // Client errors come from a healthy instance
+    private static boolean isFailure(Throwable failure) {
+        if (failure instanceof WebApplicationException e) {
+            return e.getResponse() == null || e.getResponse().getStatus() >= 500;
+        }
+        return true;
+    }
+}
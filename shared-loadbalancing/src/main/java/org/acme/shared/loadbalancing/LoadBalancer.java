@@ -0,0 +1,121 @@
+package org.acme.shared.loadbalancing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power-of-two-choices over the instances of one service: two random healthy instances are drawn and the
+ * one with fewer requests in flight wins.
+ * <p>
+ * Health is passive: an instance failing {@code ejectionThreshold} calls in a row is left out for
+ * {@code ejectionDuration}. If every instance is ejected, all of them are considered again.
+ * </p>
+ */
+public class LoadBalancer {
+
+    private final String service;
+    private final List<ServiceInstance> instances;
+    private final int ejectionThreshold;
+    private final long ejectionNanos;
+
+    LoadBalancer(String service, List<ServiceInstance> instances, int ejectionThreshold, long ejectionNanos) {
+        this.service = service;
+        this.instances = List.copyOf(instances);
+        this.ejectionThreshold = ejectionThreshold;
+        this.ejectionNanos = ejectionNanos;
+    }
+
+    /**
+     * Builds a balancer over a comma-separated list of base URLs and registers its per-instance meters as
+     * {@code <metricPrefix>.instance.latency|outstanding|ejected}.
+     */
+    public static LoadBalancer of(String service, String urls, int ejectionThreshold, Duration ejectionDuration,
+                                  MeterRegistry meterRegistry, String metricPrefix) {
+        List<ServiceInstance> instances = Arrays.stream(urls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(url -> ServiceInstance.parse(url, service))
+                .toList();
+        if (instances.isEmpty()) {
+            throw new IllegalArgumentException("Missing base URL for " + service + " service");
+        }
+        for (ServiceInstance instance : instances) {
+            instance.latency(Timer.builder(metricPrefix + ".instance.latency")
+                    .tag("service", service)
+                    .tag("instance", instance.id())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+            Gauge.builder(metricPrefix + ".instance.outstanding", instance, ServiceInstance::outstanding)
+                    .tag("service", service)
+                    .tag("instance", instance.id())
+                    .register(meterRegistry);
+            Gauge.builder(metricPrefix + ".instance.ejected", instance, i -> i.isEjected(System.nanoTime()) ? 1 : 0)
+                    .tag("service", service)
+                    .tag("instance", instance.id())
+                    .register(meterRegistry);
+        }
+        return new LoadBalancer(service, instances, ejectionThreshold, ejectionDuration.toNanos());
+    }
+
+    public String service() {
+        return service;
+    }
+
+    public List<ServiceInstance> instances() {
+        return instances;
+    }
+
+    /**
+     * Picks an instance and counts the call as in flight; every call must end with {@link #release}.
+     */
+    public ServiceInstance choose() {
+        ServiceInstance chosen = instances.size() == 1 ? instances.get(0) : pickTwo(candidates());
+        chosen.acquire();
+        return chosen;
+    }
+
+    public void release(ServiceInstance instance, long startNanos, boolean failure) {
+        instance.recordLatency(System.nanoTime() - startNanos);
+        instance.release(failure, ejectionThreshold, ejectionNanos);
+    }
+
+    /**
+     * Ends a call without recording its latency, for streams whose lifetime says nothing about the instance.
+     */
+    public void release(ServiceInstance instance, boolean failure) {
+        instance.release(failure, ejectionThreshold, ejectionNanos);
+    }
+
+    private List<ServiceInstance> candidates() {
+        long now = System.nanoTime();
+        List<ServiceInstance> healthy = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (!instance.isEjected(now)) {
+                healthy.add(instance);
+            }
+        }
+        return healthy.isEmpty() ? instances : healthy;
+    }
+
+    private static ServiceInstance pickTwo(List<ServiceInstance> candidates) {
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        return a.outstanding() <= b.outstanding() ? a : b;
+    }
+}
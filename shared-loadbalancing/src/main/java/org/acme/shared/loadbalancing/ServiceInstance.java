@@ -0,0 +1,95 @@
+package org.acme.shared.loadbalancing;
+
+import io.micrometer.core.instrument.Timer;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One instance of a downstream service, with the live state the load balancer selects on.
+ * <p>
+ * We rely on {@link URL} instead of {@link java.net.URI} so Docker service names with underscores remain valid.
+ * </p>
+ */
+public final class ServiceInstance {
+
+    private final URL baseUrl;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long ejectedUntil;
+    private Timer latency;
+
+    ServiceInstance(URL baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public URL baseUrl() {
+        return baseUrl;
+    }
+
+    public String host() {
+        return baseUrl.getHost();
+    }
+
+    public int port() {
+        return baseUrl.getPort() != -1 ? baseUrl.getPort() : baseUrl.getDefaultPort();
+    }
+
+    public boolean ssl() {
+        return "https".equalsIgnoreCase(baseUrl.getProtocol());
+    }
+
+    public String id() {
+        return host() + ":" + port();
+    }
+
+    int outstanding() {
+        return outstanding.get();
+    }
+
+    boolean isEjected(long now) {
+        long until = ejectedUntil;
+        return until != 0 && now - until < 0;
+    }
+
+    void acquire() {
+        outstanding.incrementAndGet();
+    }
+
+    void recordLatency(long elapsedNanos) {
+        latency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void release(boolean failure, int ejectionThreshold, long ejectionNanos) {
+        outstanding.decrementAndGet();
+        if (!failure) {
+            consecutiveFailures.set(0);
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= ejectionThreshold) {
+            consecutiveFailures.set(0);
+            ejectedUntil = System.nanoTime() + ejectionNanos;
+        }
+    }
+
+    void latency(Timer latency) {
+        this.latency = latency;
+    }
+
+    static ServiceInstance parse(String rawUrl, String serviceName) {
+        String candidate = rawUrl == null ? "" : rawUrl.trim();
+        if (candidate.isEmpty()) {
+            throw new IllegalArgumentException("Missing base URL for " + serviceName + " service");
+        }
+        if (!candidate.matches("^[a-zA-Z][a-zA-Z0-9+\\-.]*://.*$")) {
+            candidate = "http://" + candidate;
+        }
+        try {
+            return new ServiceInstance(new URL(candidate));
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid base URL '" + rawUrl + "' for " + serviceName + " service", e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.acme.shared.loadbalancing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.operators.multi.processors.UnicastProcessor;
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BalancedClientTest {
+
+    private final LoadBalancer loadBalancer = LoadBalancer.of("notifications", "a:8080", 2, Duration.ofMinutes(1),
+            new SimpleMeterRegistry(), "test");
+    private final ServiceInstance instance = loadBalancer.instances().get(0);
+    private final BalancedClient<URL> client = new BalancedClient<>(loadBalancer, baseUrl -> baseUrl);
+
+    @Test
+    void callsTheChosenInstanceAndReleasesIt() {
+        String host = client.call(URL::getHost);
+
+        assertEquals("a", host);
+        assertEquals(0, instance.outstanding());
+    }
+
+    @Test
+    void countsThrowingCallsAsFailures() {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IllegalStateException.class, () -> client.call(url -> {
+                throw new IllegalStateException("connection refused");
+            }));
+        }
+
+        assertEquals(0, instance.outstanding());
+        assertTrue(instance.isEjected(System.nanoTime()));
+    }
+
+    @Test
+    void asyncCallsStayInFlightUntilTheStageCompletes() {
+        CompletableFuture<String> response = new CompletableFuture<>();
+
+        CompletionStage<String> stage = client.callAsync(url -> response);
+        assertEquals(1, instance.outstanding());
+
+        response.complete("ok");
+        assertEquals("ok", stage.toCompletableFuture().join());
+        assertEquals(0, instance.outstanding());
+    }
+
+    @Test
+    void streamsChooseTheInstanceOnSubscription() {
+        AtomicInteger opened = new AtomicInteger();
+
+        Multi<String> stream = client.stream(url -> {
+            opened.incrementAndGet();
+            return Multi.createFrom().items("n1");
+        });
+
+        assertEquals(0, opened.get());
+        assertEquals(0, instance.outstanding());
+        stream.subscribe().withSubscriber(AssertSubscriber.create(1)).awaitCompletion();
+        assertEquals(1, opened.get());
+    }
+
+    @Test
+    void openStreamsStayInFlightUntilTheyComplete() {
+        UnicastProcessor<String> upstream = UnicastProcessor.create();
+        AssertSubscriber<String> subscriber = client.stream(url -> upstream)
+                .subscribe().withSubscriber(AssertSubscriber.create(10));
+
+        upstream.onNext("n1");
+        assertEquals(List.of("n1"), subscriber.getItems());
+        assertEquals(1, instance.outstanding());
+
+        upstream.onComplete();
+        subscriber.assertCompleted();
+        assertEquals(0, instance.outstanding());
+    }
+
+    @Test
+    void cancelledStreamsAreReleasedWithoutCountingAFailure() {
+        for (int i = 0; i < 2; i++) {
+            AssertSubscriber<Object> subscriber = client.stream(url -> Multi.createFrom().emitter(emitter -> { }))
+                    .subscribe().withSubscriber(AssertSubscriber.create(1));
+            assertEquals(1, instance.outstanding());
+
+            subscriber.cancel();
+            assertEquals(0, instance.outstanding());
+        }
+
+        assertFalse(instance.isEjected(System.nanoTime()));
+    }
+
+    @Test
+    void failedStreamsCountAsFailures() {
+        for (int i = 0; i < 2; i++) {
+            client.stream(url -> Multi.createFrom().failure(new IllegalStateException("reset")))
+                    .subscribe().withSubscriber(AssertSubscriber.create(1))
+                    .assertFailedWith(IllegalStateException.class);
+        }
+
+        assertEquals(0, instance.outstanding());
+        assertTrue(instance.isEjected(System.nanoTime()));
+    }
+}
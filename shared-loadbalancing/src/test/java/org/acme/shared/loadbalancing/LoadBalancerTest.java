@@ -0,0 +1,115 @@
+package org.acme.shared.loadbalancing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadBalancerTest {
+
+    private static final int EJECTION_THRESHOLD = 3;
+
+    @Test
+    void parsesEveryListedInstance() {
+        LoadBalancer loadBalancer = loadBalancer(" users_service:8081 , https://users-2.internal ,");
+
+        List<ServiceInstance> instances = loadBalancer.instances();
+
+        assertEquals(List.of("users_service:8081", "users-2.internal:443"),
+                instances.stream().map(ServiceInstance::id).toList());
+        assertFalse(instances.get(0).ssl());
+        assertTrue(instances.get(1).ssl());
+    }
+
+    @Test
+    void rejectsAnEmptyInstanceList() {
+        assertThrows(IllegalArgumentException.class, () -> loadBalancer(" , "));
+    }
+
+    @Test
+    void prefersTheInstanceWithFewerCallsInFlight() {
+        LoadBalancer loadBalancer = loadBalancer("a:8080,b:8080");
+        ServiceInstance busy = loadBalancer.choose();
+
+        // With two instances both are always drawn, so the idle one must win every time
+        for (int i = 0; i < 20; i++) {
+            ServiceInstance chosen = loadBalancer.choose();
+            assertNotSame(busy, chosen);
+            loadBalancer.release(chosen, System.nanoTime(), false);
+        }
+        assertEquals(1, busy.outstanding());
+    }
+
+    @Test
+    void ejectsAnInstanceAfterConsecutiveFailures() {
+        LoadBalancer loadBalancer = loadBalancer("a:8080,b:8080");
+        ServiceInstance failing = loadBalancer.instances().get(0);
+        fail(loadBalancer, failing, EJECTION_THRESHOLD);
+
+        Set<ServiceInstance> chosen = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            ServiceInstance instance = loadBalancer.choose();
+            chosen.add(instance);
+            loadBalancer.release(instance, System.nanoTime(), false);
+        }
+
+        assertEquals(Set.of(loadBalancer.instances().get(1)), chosen);
+    }
+
+    @Test
+    void aSuccessResetsTheFailureCount() {
+        LoadBalancer loadBalancer = loadBalancer("a:8080,b:8080");
+        ServiceInstance flaky = loadBalancer.instances().get(0);
+        fail(loadBalancer, flaky, EJECTION_THRESHOLD - 1);
+        flaky.acquire();
+        loadBalancer.release(flaky, System.nanoTime(), false);
+        fail(loadBalancer, flaky, EJECTION_THRESHOLD - 1);
+
+        assertFalse(flaky.isEjected(System.nanoTime()));
+    }
+
+    @Test
+    void fallsBackToEveryInstanceWhenAllAreEjected() {
+        LoadBalancer loadBalancer = loadBalancer("a:8080,b:8080");
+        loadBalancer.instances().forEach(instance -> fail(loadBalancer, instance, EJECTION_THRESHOLD));
+
+        ServiceInstance chosen = loadBalancer.choose();
+
+        assertTrue(loadBalancer.instances().contains(chosen));
+    }
+
+    @Test
+    void ejectionExpires() throws InterruptedException {
+        LoadBalancer loadBalancer = LoadBalancer.of("users", "a:8080", 1, Duration.ofMillis(20),
+                new SimpleMeterRegistry(), "test");
+        ServiceInstance instance = loadBalancer.choose();
+        loadBalancer.release(instance, System.nanoTime(), true);
+        assertTrue(instance.isEjected(System.nanoTime()));
+
+        Thread.sleep(40);
+
+        assertFalse(instance.isEjected(System.nanoTime()));
+        assertSame(instance, loadBalancer.choose());
+    }
+
+    private static LoadBalancer loadBalancer(String urls) {
+        return LoadBalancer.of("users", urls, EJECTION_THRESHOLD, Duration.ofMinutes(1), new SimpleMeterRegistry(), "test");
+    }
+
+    private static void fail(LoadBalancer loadBalancer, ServiceInstance instance, int times) {
+        for (int i = 0; i < times; i++) {
+            instance.acquire();
+            loadBalancer.release(instance, System.nanoTime(), true);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.acme.shared.messaging;
+
+import java.io.IOException;
+
+/**
+ * Encoding of one event type on the wire. The codec name and schema reference travel in the record
+ * headers so that consumers can read records of either encoding while a topic migrates.
+ */
+public interface EventCodec<T> {
+
+    String CODEC_HEADER = "event-codec";
+    String SCHEMA_HEADER = "event-schema";
+
+    String JSON = "json";
+    String AVRO = "avro";
+
+    String name();
+
+    /**
+     * @return the schema the payload was written with, or {@code null} for self-describing encodings
+     */
+    String schemaRef();
+
+    byte[] encode(T event) throws IOException;
+
+    T decode(byte[] payload) throws IOException;
+}
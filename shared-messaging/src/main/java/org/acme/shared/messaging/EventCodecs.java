@@ -0,0 +1,140 @@
+package org.acme.shared.messaging;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.avro.AvroMapper;
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Builds the {@link EventCodec}s of this service: the one configured for an outgoing channel through
+ * {@code event-codec.<channel>} (json by default), and the one matching the headers of an incoming record.
+ */
+@ApplicationScoped
+public class EventCodecs {
+
+    private final ObjectMapper jsonMapper;
+    private final AvroMapper avroMapper = new AvroMapper();
+    private final EventSchemaRegistry schemaRegistry;
+    private final Map<String, EventCodec<?>> codecs = new ConcurrentHashMap<>();
+
+    @Inject
+    public EventCodecs(ObjectMapper objectMapper, EventSchemaRegistry schemaRegistry) {
+        // Absent fields are left out of JSON; Avro always writes every field of the schema
+        this.jsonMapper = objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        this.schemaRegistry = schemaRegistry;
+    }
+
+    public <T> EventCodec<T> forChannel(String channel, Class<T> type, String schemaRef) {
+        String codec = ConfigProvider.getConfig()
+                .getOptionalValue("event-codec." + channel, String.class)
+                .orElse(EventCodec.JSON);
+        return switch (codec) {
+            case EventCodec.JSON -> json(type);
+            case EventCodec.AVRO -> avro(type, schemaRef);
+            default -> throw new IllegalArgumentException("Unknown event codec '" + codec + "' for channel " + channel);
+        };
+    }
+
+    public <T> EventCodec<T> forRecord(Headers headers, Class<T> type) {
+        String codec = headerValue(headers, EventCodec.CODEC_HEADER);
+        if (codec == null || codec.equals(EventCodec.JSON)) {
+            // Records published before codecs were announced are JSON
+            return json(type);
+        }
+        if (codec.equals(EventCodec.AVRO)) {
+            return avro(type, headerValue(headers, EventCodec.SCHEMA_HEADER));
+        }
+        throw new IllegalArgumentException("Unknown event codec: " + codec);
+    }
+
+    /**
+     * Headers announcing how a record encoded with {@code codec} must be read.
+     */
+    public static Headers headersFor(EventCodec<?> codec) {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(EventCodec.CODEC_HEADER, codec.name().getBytes(StandardCharsets.UTF_8));
+        if (codec.schemaRef() != null) {
+            headers.add(EventCodec.SCHEMA_HEADER, codec.schemaRef().getBytes(StandardCharsets.UTF_8));
+        }
+        return headers;
+    }
+
+    public <T> EventCodec<T> json(Class<T> type) {
+        return cached(EventCodec.JSON + ":" + type.getName(), () -> new JsonEventCodec<>(
+                jsonMapper.writerFor(type), jsonMapper.readerFor(type)));
+    }
+
+    public <T> EventCodec<T> avro(Class<T> type, String schemaRef) {
+        return cached(EventCodec.AVRO + ":" + schemaRef + ":" + type.getName(), () -> {
+            AvroSchema schema = schemaRegistry.get(schemaRef);
+            return new AvroEventCodec<>(schemaRef,
+                    avroMapper.writer(schema).forType(type),
+                    avroMapper.readerFor(type).with(schema));
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> EventCodec<T> cached(String key, Supplier<EventCodec<T>> factory) {
+        return (EventCodec<T>) codecs.computeIfAbsent(key, ignored -> factory.get());
+    }
+
+    private static String headerValue(Headers headers, String name) {
+        Header header = headers == null ? null : headers.lastHeader(name);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    private record JsonEventCodec<T>(ObjectWriter writer, ObjectReader reader) implements EventCodec<T> {
+
+        @Override
+        public String name() {
+            return EventCodec.JSON;
+        }
+
+        @Override
+        public String schemaRef() {
+            return null;
+        }
+
+        @Override
+        public byte[] encode(T event) throws IOException {
+            return writer.writeValueAsBytes(event);
+        }
+
+        @Override
+        public T decode(byte[] payload) throws IOException {
+            return reader.readValue(payload);
+        }
+    }
+
+    private record AvroEventCodec<T>(String schemaRef, ObjectWriter writer, ObjectReader reader) implements EventCodec<T> {
+
+        @Override
+        public String name() {
+            return EventCodec.AVRO;
+        }
+
+        @Override
+        public byte[] encode(T event) throws IOException {
+            return writer.writeValueAsBytes(event);
+        }
+
+        @Override
+        public T decode(byte[] payload) throws IOException {
+            return reader.readValue(payload);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.acme.shared.messaging;
+
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.apache.avro.Schema;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * File-based stand-in for a schema registry: {@code <ref>.avsc} files looked up in
+ * {@code event-schema-registry.path} when set, else in {@code event-schemas/} on the classpath.
+ */
+@ApplicationScoped
+public class EventSchemaRegistry {
+
+    private static final Pattern SCHEMA_REF = Pattern.compile("[a-z0-9][a-z0-9-]*");
+
+    private final Optional<Path> directory;
+    private final Map<String, AvroSchema> schemas = new ConcurrentHashMap<>();
+
+    @Inject
+    public EventSchemaRegistry(@ConfigProperty(name = "event-schema-registry.path") Optional<String> directory) {
+        this.directory = directory.filter(path -> !path.isBlank()).map(Path::of);
+    }
+
+    public AvroSchema get(String schemaRef) {
+        if (schemaRef == null || !SCHEMA_REF.matcher(schemaRef).matches()) {
+            throw new IllegalArgumentException("Invalid event schema reference: " + schemaRef);
+        }
+        return schemas.computeIfAbsent(schemaRef, this::load);
+    }
+
+    private AvroSchema load(String schemaRef) {
+        String fileName = schemaRef + ".avsc";
+        try (InputStream input = open(fileName)) {
+            return new AvroSchema(new Schema.Parser().parse(input));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load event schema " + schemaRef, e);
+        }
+    }
+
+    private InputStream open(String fileName) throws IOException {
+        if (directory.isPresent()) {
+            return Files.newInputStream(directory.get().resolve(fileName));
+        }
+        InputStream input = Thread.currentThread().getContextClassLoader()
+                .getResourceAsStream("event-schemas/" + fileName);
+        if (input == null) {
+            throw new IOException("Event schema not found: " + fileName);
+        }
+        return input;
+    }
+}
@@ -0,0 +1,59 @@
+package org.acme.shared.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of each event codec per record; the encoded size of a record, i.e. the bytes sent to the
+ * broker, is printed at setup. Run with {@code mvn -pl shared-messaging -am -Pbenchmarks verify}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventCodecBenchmark {
+
+    @Param({EventCodec.JSON, EventCodec.AVRO})
+    public String codec;
+
+    private EventCodec<SampleOrderEvent> eventCodec;
+    private SampleOrderEvent event;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        EventCodecs codecs = new EventCodecs(new ObjectMapper(), new EventSchemaRegistry(Optional.empty()));
+        eventCodec = EventCodec.AVRO.equals(codec)
+                ? codecs.avro(SampleOrderEvent.class, "order-event-v1")
+                : codecs.json(SampleOrderEvent.class);
+        event = SampleOrderEvent.created();
+        encoded = eventCodec.encode(event);
+        System.out.printf("%n%s: %d bytes per order event%n", codec, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return eventCodec.encode(event);
+    }
+
+    @Benchmark
+    public SampleOrderEvent decode() throws IOException {
+        return eventCodec.decode(encoded);
+    }
+}
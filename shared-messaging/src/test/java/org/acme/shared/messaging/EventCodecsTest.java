@@ -0,0 +1,60 @@
+package org.acme.shared.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.header.Headers;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventCodecsTest {
+
+    private final EventCodecs codecs = new EventCodecs(new ObjectMapper(), new EventSchemaRegistry(Optional.empty()));
+
+    @Test
+    void avroRoundTripsTheSchemaFields() throws IOException {
+        EventCodec<SampleOrderEvent> avro = codecs.avro(SampleOrderEvent.class, "order-event-v1");
+
+        for (SampleOrderEvent event : new SampleOrderEvent[]{SampleOrderEvent.created(), SampleOrderEvent.cancelled()}) {
+            assertEquals(event, avro.decode(avro.encode(event)));
+        }
+    }
+
+    @Test
+    void avroRecordsAreLessThanHalfTheSizeOfJson() throws IOException {
+        EventCodec<SampleOrderEvent> json = codecs.json(SampleOrderEvent.class);
+        EventCodec<SampleOrderEvent> avro = codecs.avro(SampleOrderEvent.class, "order-event-v1");
+
+        for (SampleOrderEvent event : new SampleOrderEvent[]{SampleOrderEvent.created(), SampleOrderEvent.cancelled()}) {
+            int jsonBytes = json.encode(event).length;
+            int avroBytes = avro.encode(event).length;
+            assertTrue(avroBytes * 2 < jsonBytes, "avro " + avroBytes + " bytes vs json " + jsonBytes + " bytes");
+        }
+    }
+
+    @Test
+    void recordHeadersSelectTheCodecTheProducerUsed() throws IOException {
+        EventCodec<SampleOrderEvent> avro = codecs.avro(SampleOrderEvent.class, "order-event-v1");
+        Headers headers = EventCodecs.headersFor(avro);
+
+        EventCodec<SampleOrderEvent> reader = codecs.forRecord(headers, SampleOrderEvent.class);
+
+        assertEquals(EventCodec.AVRO, reader.name());
+        assertEquals(SampleOrderEvent.created(), reader.decode(avro.encode(SampleOrderEvent.created())));
+    }
+
+    @Test
+    void recordsWithoutCodecHeaderAreReadAsJson() {
+        assertEquals(EventCodec.JSON, codecs.forRecord(null, SampleOrderEvent.class).name());
+    }
+
+    @Test
+    void rejectsSchemaReferencesOutsideTheRegistry() {
+        assertThrows(IllegalArgumentException.class,
+                () -> codecs.avro(SampleOrderEvent.class, "../order-event-v1"));
+    }
+}
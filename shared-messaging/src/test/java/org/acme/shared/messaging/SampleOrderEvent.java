@@ -0,0 +1,22 @@
+package org.acme.shared.messaging;
+
+/**
+ * Same fields as the {@code order-event-v1} schema and the {@code OrderEvent} record of orders_service.
+ */
+record SampleOrderEvent(String eventType,
+                        Long orderId,
+                        Long userId,
+                        String totalAmount,
+                        Integer itemCount,
+                        String reason,
+                        long timestamp) {
+
+    static SampleOrderEvent created() {
+        return new SampleOrderEvent("ORDER_CREATED", 184_467L, 9_021L, "1249.90", 3, null, 1_760_000_000_000L);
+    }
+
+    static SampleOrderEvent cancelled() {
+        return new SampleOrderEvent("ORDER_CANCELLED", 184_467L, 9_021L, null, null,
+                "Stock reservation expired", 1_760_000_060_000L);
+    }
+}
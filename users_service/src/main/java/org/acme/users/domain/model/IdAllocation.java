@@ -0,0 +1,15 @@
+package org.acme.users.domain.model;
+
+/**
+ * Number of ids Hibernate reserves per sequence call, shared by every entity of the service.
+ * <p>
+ * The Flyway migrations create the sequences with the same increment through the {@code id_allocation_size}
+ * placeholder set in application.yaml, which must be kept equal to this value.
+ */
+public final class IdAllocation {
+
+    public static final int SIZE = 50;
+
+    private IdAllocation() {
+    }
+}
@@ -0,0 +1,11 @@
+-- Schéma initial, identique à celui généré par Hibernate (idempotent pour les bases existantes)
+create table if not exists users (
+    id            bigint generated by default as identity primary key,
+    username      varchar(64)                 not null,
+    email         varchar(128)                not null,
+    password_hash varchar(60)                 not null,
+    role          varchar(16)                 not null,
+    created_at    timestamp(6) with time zone not null,
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+);
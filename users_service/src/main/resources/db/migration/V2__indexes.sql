@@ -0,0 +1,5 @@
+-- existsByEmailOrUsername compare lower(email)
+create index if not exists idx_users_lower_email on users (lower(email));
+
+-- findAll trie par date de création
+create index if not exists idx_users_created_at on users (created_at desc);
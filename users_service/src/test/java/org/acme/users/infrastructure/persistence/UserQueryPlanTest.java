@@ -0,0 +1,68 @@
+package org.acme.users.infrastructure.persistence;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the login lookup and the user listing stay on their indexes.
+ * <p>
+ * Runs against the empty Dev Services database, where a sequential scan always looks cheapest.
+ * </p>
+ */
+@QuarkusTest
+class UserQueryPlanTest {
+
+    @Inject
+    DataSource dataSource;
+
+    @Test
+    void findsAUserByEmailOrUsernameAtLogin() throws SQLException {
+        String plan = explain("select * from users where lower(email) = 'ada@example.com' or username = 'ada'");
+
+        assertTrue(plan.contains("idx_users_lower_email") && plan.contains("uk_users_username"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    @Test
+    void listsUsersNewestFirst() throws SQLException {
+        assertUsesIndex("select * from users order by created_at desc", "idx_users_created_at");
+    }
+
+    private void assertUsesIndex(String sql, String... indexes) throws SQLException {
+        String plan = explain(sql);
+        assertFalse(plan.contains("Seq Scan"), () -> "sequential scan for " + sql + "\n" + plan);
+        assertTrue(Arrays.stream(indexes).anyMatch(plan::contains),
+                () -> "none of " + Arrays.toString(indexes) + " used for " + sql + "\n" + plan);
+    }
+
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                // Only left in the plan when no index can serve the query
+                statement.execute("set local enable_seqscan = off");
+                StringJoiner plan = new StringJoiner("\n");
+                try (ResultSet rows = statement.executeQuery("explain " + sql)) {
+                    while (rows.next()) {
+                        plan.add(rows.getString(1));
+                    }
+                }
+                return plan.toString();
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+}